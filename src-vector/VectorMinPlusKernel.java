@@ -0,0 +1,69 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Min-plus kernel on the incubating Vector API: each step loads a slice of rows i and k,
+ * adds d[i][k] to the k slice and keeps the lane-wise minimum, with a scalar loop for the tail.
+ * Lanes are compared with the same strict '<' as the scalar kernel, so results are identical.
+ *
+ * Lives outside src/ because it needs the jdk.incubator.vector module (JDK 16+):
+ *   javac --add-modules jdk.incubator.vector -cp src -d src src-vector/VectorMinPlusKernel.java
+ *   java --add-modules jdk.incubator.vector ...
+ * MinPlusKernel.select() falls back to the scalar kernel when either step is missing.
+ */
+public class VectorMinPlusKernel implements MinPlusKernel {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    // Same lane count as DOUBLES, so a comparison mask carries over to the next-hop ints
+    private static final VectorSpecies<Integer> INTS =
+        VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    @Override
+    public void relaxRow(double[] d, int iRow, int kRow, double dik, int j0, int j1) {
+        int lanes = DOUBLES.length();
+        int upper = j0 + DOUBLES.loopBound(j1 - j0);
+        int j = j0;
+        for (; j < upper; j += lanes) {
+            DoubleVector viaK = DoubleVector.fromArray(DOUBLES, d, kRow + j).add(dik);
+            DoubleVector current = DoubleVector.fromArray(DOUBLES, d, iRow + j);
+            current.blend(viaK, viaK.lt(current)).intoArray(d, iRow + j);
+        }
+        for (; j < j1; j++) {
+            double viaK = dik + d[kRow + j];
+            double current = d[iRow + j];
+            d[iRow + j] = viaK < current ? viaK : current;
+        }
+    }
+
+    @Override
+    public void relaxRow(double[] d, int[] nextHop, int iRow, int kRow, double dik, int hop, int j0, int j1) {
+        int lanes = DOUBLES.length();
+        int upper = j0 + DOUBLES.loopBound(j1 - j0);
+        IntVector hops = IntVector.broadcast(INTS, hop);
+        int j = j0;
+        for (; j < upper; j += lanes) {
+            DoubleVector viaK = DoubleVector.fromArray(DOUBLES, d, kRow + j).add(dik);
+            DoubleVector current = DoubleVector.fromArray(DOUBLES, d, iRow + j);
+            VectorMask<Double> improved = viaK.lt(current);
+            if (!improved.anyTrue()) continue;
+            current.blend(viaK, improved).intoArray(d, iRow + j);
+            hops.intoArray(nextHop, iRow + j, improved.cast(INTS));
+        }
+        for (; j < j1; j++) {
+            double viaK = dik + d[kRow + j];
+            if (viaK < d[iRow + j]) {
+                d[iRow + j] = viaK;
+                nextHop[iRow + j] = hop;
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "vector (" + DOUBLES.length() + " x double)";
+    }
+}
@@ -0,0 +1,131 @@
+import java.util.*;
+
+/**
+ * Benchmark for the all-pairs shortest path kernels on random complete graphs.
+ * Compares the classic triple loop with the blocked flat-array implementation
+ * (scalar row kernel), the same blocked loop on the selected SIMD kernel, and the
+ * parallel blocked implementation, and reports the largest difference from the classic
+ * table. All find the same shortest paths; a distance can only differ in its last bit
+ * when the blocked order adds the segments of a path in a different association.
+ * The SIMD and scalar blocked tables must match exactly ("SIMD = scalar").
+ *
+ * Usage: java --add-modules jdk.incubator.vector -Dparallelism=8 APSPBenchmark [size ...]
+ * (parallelism defaults to the number of available processors; without the module
+ * the SIMD column runs the scalar kernel)
+ */
+public class APSPBenchmark {
+    
+    private static final int[] DEFAULT_SIZES = {128, 256, 512, 1024};
+    private static final int RUNS = 3;
+    
+    public static void main(String[] args) {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        
+        int parallelism = Integer.getInteger("parallelism", Runtime.getRuntime().availableProcessors());
+        
+        System.out.println("⏱️  ALL-PAIRS SHORTEST PATH BENCHMARK");
+        System.out.println("=====================================");
+        System.out.println("Parallelism: " + parallelism);
+        System.out.println("SIMD kernel: " + FloydWarshallAlgorithm.KERNEL.getName());
+        System.out.printf("%-8s %-14s %-14s %-10s %-12s %-10s %-15s %-10s %-10s %-14s\n", "n", "Classic (ms)", 
+                        "Blocked (ms)", "Speedup", "SIMD (ms)", "Speedup", "Parallel (ms)", "Speedup", "Max |diff|",
+                        "SIMD = scalar");
+        
+        for (int n : sizes) {
+            double[][] input = randomMatrix(n, new Random(42 + n));
+            
+            double[][] classic = null;
+            long classicTime = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                double[][] copy = copyMatrix(input);
+                long start = System.nanoTime();
+                FloydWarshallAlgorithm.findAllPairsShortestPathsClassic(copy);
+                classicTime = Math.min(classicTime, System.nanoTime() - start);
+                classic = copy;
+            }
+            
+            double[] blocked = null;
+            long blockedTime = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                double[] flat = FloydWarshallAlgorithm.toFlat(input);
+                long start = System.nanoTime();
+                FloydWarshallAlgorithm.findAllPairsShortestPaths(flat, null, n, MinPlusKernel.SCALAR);
+                blockedTime = Math.min(blockedTime, System.nanoTime() - start);
+                blocked = flat;
+            }
+            
+            double[] simd = null;
+            long simdTime = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                double[] flat = FloydWarshallAlgorithm.toFlat(input);
+                long start = System.nanoTime();
+                FloydWarshallAlgorithm.findAllPairsShortestPaths(flat, null, n, FloydWarshallAlgorithm.KERNEL);
+                simdTime = Math.min(simdTime, System.nanoTime() - start);
+                simd = flat;
+            }
+            
+            double[] parallel = null;
+            long parallelTime = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                double[] flat = FloydWarshallAlgorithm.toFlat(input);
+                long start = System.nanoTime();
+                FloydWarshallAlgorithm.findAllPairsShortestPathsParallel(flat, n, parallelism);
+                parallelTime = Math.min(parallelTime, System.nanoTime() - start);
+                parallel = flat;
+            }
+            
+            System.out.printf("%-8d %-14.1f %-14.1f %-10s %-12.1f %-10s %-15.1f %-10s %-10.1e %-14s\n", n, 
+                            classicTime / 1e6, blockedTime / 1e6,
+                            String.format("%.2fx", (double) classicTime / blockedTime),
+                            simdTime / 1e6,
+                            String.format("%.2fx", (double) classicTime / simdTime),
+                            parallelTime / 1e6,
+                            String.format("%.2fx", (double) classicTime / parallelTime),
+                            Math.max(maxDifference(classic, blocked), maxDifference(classic, parallel)),
+                            Arrays.equals(blocked, simd) ? "yes" : "NO");
+        }
+    }
+    
+    /**
+     * Random symmetric campus-like matrix: mostly short walkways plus a few missing edges
+     */
+    static double[][] randomMatrix(int n, Random random) {
+        double[][] matrix = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double weight = random.nextDouble() < 0.1 ? Double.POSITIVE_INFINITY : 0.05 + random.nextDouble() * 2.0;
+                matrix[i][j] = weight;
+                matrix[j][i] = weight;
+            }
+        }
+        return matrix;
+    }
+    
+    static double[][] copyMatrix(double[][] matrix) {
+        double[][] copy = new double[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) {
+            copy[i] = Arrays.copyOf(matrix[i], matrix[i].length);
+        }
+        return copy;
+    }
+    
+    static double maxDifference(double[][] expected, double[] actual) {
+        int n = expected.length;
+        double max = 0.0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double a = expected[i][j], b = actual[i * n + j];
+                if (a == b) continue;
+                if (a == Double.POSITIVE_INFINITY || b == Double.POSITIVE_INFINITY) return Double.POSITIVE_INFINITY;
+                max = Math.max(max, Math.abs(a - b));
+            }
+        }
+        return max;
+    }
+}
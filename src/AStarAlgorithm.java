@@ -57,15 +57,8 @@ public class AStarAlgorithm {
         String[] locations = adjacencyMatrix.get(0);
         int n = locations.length;
         
-        int startIndex = -1, endIndex = -1;
-        for (int i = 0; i < locations.length; i++) {
-            if (locations[i].contains(startLocation)) {
-                startIndex = i;
-            }
-            if (locations[i].contains(endLocation)) {
-                endIndex = i;
-            }
-        }
+        int startIndex = LocationSearchEngine.resolve(locations, startLocation);
+        int endIndex = LocationSearchEngine.resolve(locations, endLocation);
         
         if (startIndex == -1 || endIndex == -1) {
             return null;
@@ -81,6 +74,9 @@ public class AStarAlgorithm {
         nodeMap.put(startIndex, startNode);
         
         while (!openSet.isEmpty()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return null; // query deadline passed
+            }
             AStarNode current = openSet.poll();
             
             if (current.vertex == endIndex) {
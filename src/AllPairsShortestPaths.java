@@ -0,0 +1,93 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * All-pairs shortest paths facade that picks the cheaper engine for the graph at hand:
+ * - Floyd-Warshall (blocked, SIMD when available) costs ~n³ regardless of density.
+ * - Repeated Dijkstra costs ~n·(m + n·log n), which wins on sparse walkway networks.
+ *   Walkway lengths are positive, so no Johnson reweighting is needed.
+ * Both produce the same ShortestPathTable (distances plus next hops).
+ */
+public class AllPairsShortestPaths {
+
+    public enum Engine { FLOYD_WARSHALL, REPEATED_DIJKSTRA }
+
+    // Measured cost of one Dijkstra edge scan / heap step relative to one Floyd-Warshall
+    // cell update (~2-2.5x on JDK 17), which puts the crossover near m = 0.4·n²
+    private static final double DIJKSTRA_STEP_COST = 2.5;
+
+    // Rows handed to one task; keeps per-task heap setup negligible
+    private static final int ROWS_PER_TASK = 16;
+
+    public static ShortestPathTable compute(List<String[]> adjacencyMatrix) {
+        CampusGraph graph = CampusGraph.fromAdjacencyMatrix(adjacencyMatrix);
+        return graph == null ? null : compute(graph);
+    }
+
+    /**
+     * @param graph Campus graph
+     * @return Distance and next-hop table from whichever engine is estimated to be faster
+     */
+    public static ShortestPathTable compute(CampusGraph graph) {
+        return compute(graph, chooseEngine(graph), Runtime.getRuntime().availableProcessors());
+    }
+
+    public static ShortestPathTable compute(CampusGraph graph, Engine engine, int parallelism) {
+        if (engine == Engine.REPEATED_DIJKSTRA) {
+            return repeatedDijkstra(graph, parallelism);
+        }
+        return FloydWarshallAlgorithm.findAllPairsWithPaths(graph);
+    }
+
+    /**
+     * Compare the cost estimates n³ (Floyd-Warshall) and n·(m + n·log n) (repeated Dijkstra)
+     */
+    public static Engine chooseEngine(CampusGraph graph) {
+        int n = graph.size();
+        if (n < 2) {
+            return Engine.FLOYD_WARSHALL;
+        }
+        double m = graph.getEdgeCount();
+        double floydWarshall = (double) n * n * n;
+        double dijkstra = DIJKSTRA_STEP_COST * n * (m + n * (Math.log(n) / Math.log(2)));
+        return dijkstra < floydWarshall ? Engine.REPEATED_DIJKSTRA : Engine.FLOYD_WARSHALL;
+    }
+
+    /**
+     * One Dijkstra per source, rows written straight into the flat table.
+     * Sources are split into independent tasks, each with its own heap.
+     */
+    static ShortestPathTable repeatedDijkstra(CampusGraph graph, int parallelism) {
+        int n = graph.size();
+        double[] distances = new double[n * n];
+        int[] nextHop = new int[n * n];
+        graph.getOutOffsets(); // build adjacency once, before the workers read it
+
+        if (parallelism <= 1 || n <= ROWS_PER_TASK) {
+            computeRows(graph, 0, n, distances, nextHop);
+        } else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int start = 0; start < n; start += ROWS_PER_TASK) {
+                int from = start, to = Math.min(start + ROWS_PER_TASK, n);
+                tasks.add(ForkJoinTask.adapt(() -> computeRows(graph, from, to, distances, nextHop)));
+            }
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+            } finally {
+                pool.shutdown();
+            }
+        }
+        return new ShortestPathTable(graph.getLocations(), distances, nextHop);
+    }
+
+    private static void computeRows(CampusGraph graph, int from, int to, double[] distances, int[] nextHop) {
+        int n = graph.size();
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        for (int source = from; source < to; source++) {
+            GraphSearch.shortestPathRow(graph, source, distances, nextHop, source * n, heap);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+import java.util.*;
+
+/**
+ * Primitive, parse-once view of the campus adjacency matrix.
+ * Holds the edge weights as a flat row-major matrix plus forward and reverse
+ * compressed adjacency lists, so searches never re-parse CSV strings.
+ * Location index i corresponds to adjacencyMatrix.get(0)[i] and row i of the matrix,
+ * exactly like the other algorithms in this project.
+ */
+public class CampusGraph {
+
+    public static final double INFINITY = Double.POSITIVE_INFINITY;
+
+    private final String[] locations;
+    private final int n;
+    private final double[] weights; // row-major n x n, INFINITY where there is no walkway
+
+    // Compressed adjacency (CSR), built lazily
+    private int[] outOffsets;
+    private int[] outTargets;
+    private double[] outWeights;
+    private int[] inOffsets;
+    private int[] inSources;
+    private double[] inWeights;
+
+    private long version;
+    private boolean versionValid;
+
+    private final List<ChangeListener> listeners = new java.util.concurrent.CopyOnWriteArrayList<>();
+
+    /**
+     * Notified after a walkway length changes, i.e. whenever the graph version moves on
+     */
+    public interface ChangeListener {
+        void edgeWeightChanged(CampusGraph graph, int from, int to, double oldWeight, double newWeight);
+    }
+
+    private CampusGraph(String[] locations, double[] weights) {
+        this.locations = locations;
+        this.n = locations.length;
+        this.weights = weights;
+    }
+
+    /**
+     * Parse the adjacency matrix exactly once into primitive form.
+     * Diagonal entries are 0; non-positive or unparsable cells mean no edge.
+     * @param adjacencyMatrix Matrix whose first row holds the location names
+     * @return Parsed graph, or null if the matrix is empty
+     */
+    public static CampusGraph fromAdjacencyMatrix(List<String[]> adjacencyMatrix) {
+        if (adjacencyMatrix == null || adjacencyMatrix.isEmpty()) {
+            return null;
+        }
+
+        String[] locations = adjacencyMatrix.get(0);
+        int n = locations.length;
+        double[] weights = new double[n * n];
+
+        for (int i = 0; i < n; i++) {
+            String[] row = i < adjacencyMatrix.size() ? adjacencyMatrix.get(i) : null;
+            int base = i * n;
+            for (int j = 0; j < n; j++) {
+                if (i == j) {
+                    weights[base + j] = 0.0;
+                } else {
+                    weights[base + j] = parseWeight(row, j);
+                }
+            }
+        }
+
+        return new CampusGraph(locations, weights);
+    }
+
+    private static double parseWeight(String[] row, int column) {
+        if (row == null || column >= row.length) {
+            return INFINITY;
+        }
+        try {
+            double distance = Double.parseDouble(row[column]);
+            return (distance > 0) ? distance : INFINITY;
+        } catch (NumberFormatException e) {
+            return INFINITY;
+        }
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public String[] getLocations() {
+        return locations;
+    }
+
+    public String getLocation(int index) {
+        return locations[index];
+    }
+
+    /**
+     * Direct walkway length between two locations, INFINITY when not connected
+     */
+    public double getEdgeWeight(int from, int to) {
+        return weights[from * n + to];
+    }
+
+    /**
+     * Change the length of one directed walkway. A weight of INFINITY (or any
+     * non-positive value) closes it. Adjacency lists and the version are refreshed
+     * lazily, and listeners are told about the change.
+     */
+    public void setEdgeWeight(int from, int to, double weight) {
+        if (from == to) {
+            return;
+        }
+        double newWeight = (weight > 0) ? weight : INFINITY;
+        double oldWeight;
+        synchronized (this) {
+            oldWeight = weights[from * n + to];
+            if (Double.compare(oldWeight, newWeight) == 0) {
+                return;
+            }
+            weights[from * n + to] = newWeight;
+            outOffsets = null;
+            versionValid = false;
+        }
+        for (ChangeListener listener : listeners) {
+            listener.edgeWeightChanged(this, from, to, oldWeight, newWeight);
+        }
+    }
+
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return A fresh row-major copy of the weight matrix (INFINITY for missing edges)
+     */
+    public double[] copyWeightMatrix() {
+        return Arrays.copyOf(weights, weights.length);
+    }
+
+    /**
+     * Find the location a typed name refers to (exact, abbreviated or misspelled)
+     * @return Location index or -1 if nothing matches
+     */
+    public int indexOf(String location) {
+        return LocationSearchEngine.resolve(locations, location);
+    }
+
+    /**
+     * @return Number of directed edges (finite off-diagonal weights)
+     */
+    public int getEdgeCount() {
+        ensureAdjacency();
+        return outTargets.length;
+    }
+
+    /**
+     * @return true if every walkway has the same length in both directions
+     */
+    public boolean isSymmetric() {
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (Double.compare(weights[i * n + j], weights[j * n + i]) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Forward adjacency: edges leaving vertex v are outTargets[outOffsets[v] .. outOffsets[v+1])
+
+    public int[] getOutOffsets() {
+        ensureAdjacency();
+        return outOffsets;
+    }
+
+    public int[] getOutTargets() {
+        ensureAdjacency();
+        return outTargets;
+    }
+
+    public double[] getOutWeights() {
+        ensureAdjacency();
+        return outWeights;
+    }
+
+    // Reverse adjacency: edges entering vertex v are inSources[inOffsets[v] .. inOffsets[v+1])
+
+    public int[] getInOffsets() {
+        ensureAdjacency();
+        return inOffsets;
+    }
+
+    public int[] getInSources() {
+        ensureAdjacency();
+        return inSources;
+    }
+
+    public double[] getInWeights() {
+        ensureAdjacency();
+        return inWeights;
+    }
+
+    private synchronized void ensureAdjacency() {
+        if (outOffsets != null) {
+            return;
+        }
+
+        int[] outDegree = new int[n + 1];
+        int[] inDegree = new int[n + 1];
+        int edges = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j && weights[i * n + j] != INFINITY) {
+                    outDegree[i + 1]++;
+                    inDegree[j + 1]++;
+                    edges++;
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            outDegree[i + 1] += outDegree[i];
+            inDegree[i + 1] += inDegree[i];
+        }
+
+        int[] targets = new int[edges];
+        double[] forwardWeights = new double[edges];
+        int[] sources = new int[edges];
+        double[] backwardWeights = new double[edges];
+        int[] inFill = Arrays.copyOf(inDegree, n);
+
+        int e = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double w = weights[i * n + j];
+                if (i != j && w != INFINITY) {
+                    targets[e] = j;
+                    forwardWeights[e] = w;
+                    e++;
+                    int slot = inFill[j]++;
+                    sources[slot] = i;
+                    backwardWeights[slot] = w;
+                }
+            }
+        }
+
+        outTargets = targets;
+        outWeights = forwardWeights;
+        inSources = sources;
+        inWeights = backwardWeights;
+        inOffsets = inDegree;
+        outOffsets = outDegree;
+    }
+
+    /**
+     * Content hash of the location names and edge weights.
+     * Derived data (distance tables, label indexes, caches) is keyed by this value,
+     * so any change to Addresses.csv produces a new graph version.
+     */
+    public synchronized long getVersion() {
+        if (!versionValid) {
+            long hash = 0xcbf29ce484222325L; // FNV-1a 64-bit offset basis
+            hash = mix(hash, n);
+            for (String location : locations) {
+                for (int c = 0; c < location.length(); c++) {
+                    hash = mix(hash, location.charAt(c));
+                }
+                hash = mix(hash, 0);
+            }
+            for (double w : weights) {
+                hash = mix(hash, Double.doubleToLongBits(w));
+            }
+            version = hash;
+            versionValid = true;
+        }
+        return version;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= 0x100000001b3L; // FNV-1a 64-bit prime
+        }
+        return hash;
+    }
+}
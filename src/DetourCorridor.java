@@ -0,0 +1,207 @@
+import java.util.Arrays;
+
+/**
+ * Every location worth passing on the way from start to end: all l with
+ * d(start, l) + d(l, end) <= d(start, end) + budget, ranked by detour.
+ *
+ * Two bounded searches replace full shortest-path trees:
+ * - forward Dijkstra from the start stops once its frontier passes d(start, end) + budget,
+ * - backward Dijkstra into the end only enters locations the forward search settled, and
+ *   only while d(start, l) + d(l, end) can still fit the budget.
+ * Locations settled by both searches within the limit form the corridor. Every location on
+ * a corridor location's shortest paths is itself in the corridor, so pruning keeps paths exact.
+ */
+public class DetourCorridor {
+
+    private final int start;
+    private final int end;
+    private final double shortestDistance;
+    private final double[] fromStart;
+    private final int[] parent;       // forward tree, valid for corridor locations
+    private final double[] toEnd;
+    private final int[] successor;    // backward tree, valid for corridor locations
+    private final int[] members;      // corridor locations, smallest detour first
+    private final int settledCount;
+
+    private DetourCorridor(int start, int end, double shortestDistance, double[] fromStart, int[] parent,
+                           double[] toEnd, int[] successor, int[] members, int settledCount) {
+        this.start = start;
+        this.end = end;
+        this.shortestDistance = shortestDistance;
+        this.fromStart = fromStart;
+        this.parent = parent;
+        this.toEnd = toEnd;
+        this.successor = successor;
+        this.members = members;
+        this.settledCount = settledCount;
+    }
+
+    /**
+     * Build the corridor between two locations
+     * @param graph Campus graph
+     * @param start Start location index
+     * @param end Destination location index
+     * @param budget Maximum extra distance in km over the shortest route
+     * @return The corridor; empty if the destination cannot be reached
+     */
+    public static DetourCorridor search(CampusGraph graph, int start, int end, double budget) {
+        int n = graph.size();
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        double[] fromStart = new double[n];
+        int[] parent = new int[n];
+        double[] toEnd = new double[n];
+        int[] successor = new int[n];
+        Arrays.fill(fromStart, CampusGraph.INFINITY);
+        Arrays.fill(parent, -1);
+        Arrays.fill(toEnd, CampusGraph.INFINITY);
+        Arrays.fill(successor, -1);
+        boolean[] settled = new boolean[n];
+
+        // Forward: the limit is unknown until the end is settled, then the frontier stops at it
+        int[] offsets = graph.getOutOffsets();
+        int[] targets = graph.getOutTargets();
+        double[] weights = graph.getOutWeights();
+        double limit = CampusGraph.INFINITY;
+        int settledCount = 0;
+        fromStart[start] = 0.0;
+        parent[start] = start;
+        heap.insertOrDecrease(start, 0.0);
+        while (!heap.isEmpty() && heap.peekKey() <= limit) {
+            int v = heap.pollMin();
+            settled[v] = true;
+            settledCount++;
+            if (v == end) {
+                limit = fromStart[end] + Math.max(0.0, budget);
+            }
+            double dv = fromStart[v];
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = targets[e];
+                double candidate = dv + weights[e];
+                if (candidate < fromStart[u] && candidate <= limit) {
+                    fromStart[u] = candidate;
+                    parent[u] = v;
+                    heap.insertOrDecrease(u, candidate);
+                }
+            }
+        }
+        heap.clear();
+
+        double shortestDistance = fromStart[end];
+        if (!settled[end]) {
+            return new DetourCorridor(start, end, CampusGraph.INFINITY, fromStart, parent,
+                                      toEnd, successor, new int[0], settledCount);
+        }
+
+        // Backward: restricted to the forward-settled set and pruned by the total through each location
+        int[] inOffsets = graph.getInOffsets();
+        int[] sources = graph.getInSources();
+        double[] inWeights = graph.getInWeights();
+        int[] members = new int[n];
+        int count = 0;
+        toEnd[end] = 0.0;
+        successor[end] = end;
+        heap.insertOrDecrease(end, 0.0);
+        while (!heap.isEmpty()) {
+            int v = heap.pollMin();
+            settledCount++;
+            members[count++] = v;
+            double dv = toEnd[v];
+            for (int e = inOffsets[v]; e < inOffsets[v + 1]; e++) {
+                int u = sources[e];
+                double candidate = dv + inWeights[e];
+                if (settled[u] && candidate < toEnd[u] && fromStart[u] + candidate <= limit) {
+                    toEnd[u] = candidate;
+                    successor[u] = v;
+                    heap.insertOrDecrease(u, candidate);
+                }
+            }
+        }
+
+        sortByDetour(members, count, fromStart, toEnd);
+        return new DetourCorridor(start, end, shortestDistance, fromStart, parent, toEnd, successor,
+                                  Arrays.copyOf(members, count), settledCount);
+    }
+
+    /**
+     * Insertion sort by total distance; corridors are short and arrive nearly ordered by d(l, end)
+     */
+    private static void sortByDetour(int[] members, int count, double[] fromStart, double[] toEnd) {
+        for (int i = 1; i < count; i++) {
+            int location = members[i];
+            double total = fromStart[location] + toEnd[location];
+            int j = i - 1;
+            while (j >= 0 && fromStart[members[j]] + toEnd[members[j]] > total) {
+                members[j + 1] = members[j];
+                j--;
+            }
+            members[j + 1] = location;
+        }
+    }
+
+    public boolean isEmpty() {
+        return members.length == 0;
+    }
+
+    public int size() {
+        return members.length;
+    }
+
+    /**
+     * @return Corridor location indices, smallest detour first (shared, do not modify)
+     */
+    public int[] getLocations() {
+        return members;
+    }
+
+    public double getShortestDistance() {
+        return shortestDistance;
+    }
+
+    /**
+     * @return Extra distance of the best route through the location, INFINITY if it is outside the corridor
+     */
+    public double getDetour(int location) {
+        double total = fromStart[location] + toEnd[location];
+        return total == CampusGraph.INFINITY ? CampusGraph.INFINITY : total - shortestDistance;
+    }
+
+    /**
+     * Locations settled by both searches together; the whole-campus equivalent is 2n
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Shortest route start -> location -> end as location indices
+     * @return The path, or null if the location is outside the corridor
+     */
+    public int[] pathThrough(int location) {
+        if (successor[location] == -1 || parent[location] == -1) {
+            return null;
+        }
+        int n = parent.length;
+        int[] path = new int[2 * n];
+
+        // start -> location, collected backwards from the location
+        int length = 0;
+        for (int v = location; v != start; v = parent[v]) {
+            if (length == n) return null; // malformed tree
+            path[length++] = v;
+        }
+        path[length++] = start;
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            int swap = path[i];
+            path[i] = path[j];
+            path[j] = swap;
+        }
+
+        // location -> end
+        for (int v = location; v != end; ) {
+            v = successor[v];
+            if (length == path.length) return null;
+            path[length++] = v;
+        }
+        return Arrays.copyOf(path, length);
+    }
+}
@@ -25,15 +25,8 @@ public class DijkstraAlgorithm {
         String[] locations = adjacencyMatrix.get(0);
         int n = locations.length;
         
-        int startIndex = -1, endIndex = -1;
-        for (int i = 0; i < locations.length; i++) {
-            if (locations[i].contains(startLocation)) {
-                startIndex = i;
-            }
-            if (locations[i].contains(endLocation)) {
-                endIndex = i;
-            }
-        }
+        int startIndex = LocationSearchEngine.resolve(locations, startLocation);
+        int endIndex = LocationSearchEngine.resolve(locations, endLocation);
         
         if (startIndex == -1 || endIndex == -1) {
             return null;
@@ -51,6 +44,9 @@ public class DijkstraAlgorithm {
         pq.offer(new Node(startIndex, 0.0));
         
         while (!pq.isEmpty()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return null; // query deadline passed
+            }
             Node current = pq.poll();
             int currentVertex = current.vertex;
             
@@ -127,13 +123,7 @@ public class DijkstraAlgorithm {
         String[] locations = adjacencyMatrix.get(0);
         int n = locations.length;
         
-        int sourceIndex = -1;
-        for (int i = 0; i < locations.length; i++) {
-            if (locations[i].contains(sourceLocation)) {
-                sourceIndex = i;
-                break;
-            }
-        }
+        int sourceIndex = LocationSearchEngine.resolve(locations, sourceLocation);
         
         if (sourceIndex == -1) {
             return result;
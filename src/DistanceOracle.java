@@ -0,0 +1,19 @@
+/**
+ * Common interface for anything that can answer point-to-point shortest distance
+ * queries between location indices of the campus adjacency matrix
+ */
+public interface DistanceOracle {
+
+    /**
+     * Get the shortest distance between two location indices
+     * @param from Index of the starting location
+     * @param to Index of the destination
+     * @return Shortest distance in km, or Double.POSITIVE_INFINITY when unreachable
+     */
+    double getDistance(int from, int to);
+
+    /**
+     * @return Number of locations covered by this oracle
+     */
+    int size();
+}
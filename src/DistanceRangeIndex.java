@@ -0,0 +1,119 @@
+import java.util.Arrays;
+
+/**
+ * Per-source list of destinations sorted by shortest-path distance.
+ * "Everything within X km" becomes a binary search for the cut-off plus a prefix copy,
+ * instead of scanning and comparing a whole row on every query.
+ * Rows are built lazily from the distance oracle the first time a source is queried.
+ */
+public class DistanceRangeIndex {
+
+    // Same walking speed ReadCSV.distance_time uses to turn kilometres into minutes
+    public static final double WALKING_SPEED_KMH = 5.0;
+
+    private final DistanceOracle oracle;
+    private final int n;
+    private final Row[] rows;           // per source, null until first queried or after invalidate
+
+    /**
+     * Destinations of one source ordered by distance, with the aligned ascending distances
+     */
+    private static final class Row {
+        final int[] destinations;
+        final double[] distances;
+
+        Row(int[] destinations, double[] distances) {
+            this.destinations = destinations;
+            this.distances = distances;
+        }
+    }
+
+    public DistanceRangeIndex(DistanceOracle oracle) {
+        this.oracle = oracle;
+        this.n = oracle.size();
+        this.rows = new Row[n];
+    }
+
+    /**
+     * Locations reachable from the source within the given distance, nearest first
+     * @param source Source location index
+     * @param maxDistance Inclusive distance limit in km
+     * @return Destination indices, excluding the source itself
+     */
+    public int[] withinDistance(int source, double maxDistance) {
+        // One row snapshot for both the count and the copy, even if invalidate() runs meanwhile
+        Row row = row(source);
+        return Arrays.copyOf(row.destinations, countWithinDistance(row.distances, maxDistance));
+    }
+
+    /**
+     * Locations reachable on foot from the source within the given number of minutes
+     */
+    public int[] withinMinutes(int source, double maxMinutes) {
+        return withinDistance(source, maxMinutes / 60.0 * WALKING_SPEED_KMH);
+    }
+
+    /**
+     * @return Number of destinations within the inclusive distance limit
+     */
+    public int countWithinDistance(int source, double maxDistance) {
+        return countWithinDistance(row(source).distances, maxDistance);
+    }
+
+    private static int countWithinDistance(double[] sorted, double maxDistance) {
+        int low = 0, high = sorted.length;
+        while (low < high) { // first index with distance > maxDistance
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= maxDistance) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Drop every built row, e.g. after the underlying distances were updated in place
+     */
+    public synchronized void invalidate() {
+        Arrays.fill(rows, null);
+    }
+
+    /**
+     * The built row for a source, building it first if needed
+     */
+    private synchronized Row row(int source) {
+        if (rows[source] != null) {
+            return rows[source];
+        }
+
+        // Reachable destinations, ties broken by index so results are deterministic
+        int count = 0;
+        for (int j = 0; j < n; j++) {
+            if (j != source && oracle.getDistance(source, j) != CampusGraph.INFINITY) {
+                count++;
+            }
+        }
+        Integer[] order = new Integer[count];
+        count = 0;
+        for (int j = 0; j < n; j++) {
+            if (j != source && oracle.getDistance(source, j) != CampusGraph.INFINITY) {
+                order[count++] = j;
+            }
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byDistance = Double.compare(oracle.getDistance(source, a), oracle.getDistance(source, b));
+            return byDistance != 0 ? byDistance : Integer.compare(a, b);
+        });
+
+        int[] sortedDestinations = new int[count];
+        double[] sortedDistances = new double[count];
+        for (int c = 0; c < count; c++) {
+            sortedDestinations[c] = order[c];
+            sortedDistances[c] = oracle.getDistance(source, order[c]);
+        }
+        rows[source] = new Row(sortedDestinations, sortedDistances);
+        return rows[source];
+    }
+}
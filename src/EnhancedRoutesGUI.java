@@ -218,6 +218,10 @@ public class EnhancedRoutesGUI extends JFrame {
             maxDetourSlider.setEnabled(useLandmarkSearch.isSelected());
         });
         
+        // Suggest the nearest landmarks of the chosen type from the start location
+        landmarkCombo.addActionListener(e -> updateLandmarkSuggestions());
+        startLocationCombo.addActionListener(e -> updateLandmarkSuggestions());
+        
         // Update detour label
         maxDetourSlider.addChangeListener(e -> {
             double detourKm = maxDetourSlider.getValue() / 100.0;
@@ -229,6 +233,26 @@ public class EnhancedRoutesGUI extends JFrame {
         maxDetourSlider.setEnabled(false);
     }
     
+    private void updateLandmarkSuggestions() {
+        String landmark = (String) landmarkCombo.getSelectedItem();
+        String startLocation = (String) startLocationCombo.getSelectedItem();
+        if (landmark == null || landmark.equals("None") || startLocation == null) {
+            landmarkCombo.setToolTipText(null);
+            return;
+        }
+        
+        List<String> suggestions = navigator.suggestNearestLandmarks(startLocation, landmark);
+        if (suggestions.isEmpty()) {
+            landmarkCombo.setToolTipText(null);
+            return;
+        }
+        StringBuilder tooltip = new StringBuilder("<html>Nearest " + landmark.toLowerCase() + ":");
+        for (String suggestion : suggestions) {
+            tooltip.append("<br>• ").append(suggestion);
+        }
+        landmarkCombo.setToolTipText(tooltip.append("</html>").toString());
+    }
+    
     private void setFrameProperties() {
         setTitle("🏛️ UG Navigate - Advanced Campus Route Planner");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -0,0 +1,341 @@
+import java.util.*;
+
+/**
+ * Multi-stop errand routing over landmark categories, e.g.
+ * "Commonwealth Hall -> any ATM -> any dining spot -> Balme Library".
+ *
+ * Each stop is a category; any member location satisfies it. A small many-to-many distance
+ * table between start, candidate members and end is searched with:
+ * - layered DP when the stop order is fixed (one layer per stop, every member kept), or
+ * - bitmask DP over visited stops when the order is free (up to MAX_FREE_ORDER_STOPS stops).
+ * The bitmask DP does about 2^stops * slots^2 work, where slots is the total candidate count.
+ * For a free order each category therefore keeps only the members lying least off the direct
+ * start/end trip, at most candidatesPerStop(stops) of them, which keeps the work within
+ * FREE_ORDER_TRANSITION_BUDGET (24 per stop up to 8 stops, down to 5 at 12 stops).
+ * The best tour may need a member that was dropped, so such routes are heuristic; every other
+ * route is the shortest one.
+ */
+public class ErrandRouter {
+
+    public static final int MAX_FREE_ORDER_STOPS = 12;
+
+    // Free-order searches keep at most this many members per stop, ranked by d(start, l) + d(l, end)
+    private static final int MAX_CANDIDATES_PER_STOP = 24;
+
+    // Upper bound on 2^stops * slots^2 bitmask DP transitions, about 17M
+    static final long FREE_ORDER_TRANSITION_BUDGET = 1L << 24;
+
+    /**
+     * Find the shortest route from start to end visiting one location of every stop category.
+     * In a free order, categories with more than candidatesPerStop(stops) reachable members are
+     * pruned first, which makes the result a heuristic (see the class comment).
+     * @param graph Campus graph
+     * @param startLocation Starting location
+     * @param endLocation Destination location
+     * @param stops Landmark categories or names to visit, e.g. "ATM", "dining"
+     * @param fixedOrder true to visit the stops in the given order, false to let the router choose
+     * @return Route through every intermediate location, or null if a stop has no reachable location
+     */
+    public static Route findErrandRoute(CampusGraph graph, String startLocation, String endLocation,
+                                        List<String> stops, boolean fixedOrder) {
+        if (graph == null || stops == null) {
+            return null;
+        }
+
+        String[] locations = graph.getLocations();
+        int[] endpoints = FloydWarshallAlgorithm.findLocationIndices(locations, startLocation, endLocation);
+        if (endpoints == null) {
+            return null;
+        }
+        int start = endpoints[0], end = endpoints[1];
+
+        if (!fixedOrder && stops.size() > MAX_FREE_ORDER_STOPS) {
+            System.out.println("Too many stops to reorder (" + stops.size() + " > " + MAX_FREE_ORDER_STOPS
+                             + "), keeping the given order");
+            fixedOrder = true;
+        }
+
+        // Distances used to drop unreachable members and, for a free order, rank the rest
+        int n = graph.size();
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        double[] fromStart = new double[n];
+        double[] toEnd = new double[n];
+        int[] links = new int[n];
+        GraphSearch.shortestPathTree(graph, start, fromStart, links, heap);
+        GraphSearch.reverseShortestPathTree(graph, end, toEnd, links, heap);
+
+        LandmarkCategoryIndex categories = LandmarkCategoryIndex.forLocations(locations);
+        int[][] candidates = new int[stops.size()][];
+        for (int stop = 0; stop < stops.size(); stop++) {
+            candidates[stop] = nearestCandidates(categories.search(stops.get(stop)), fromStart, toEnd,
+                                                 fixedOrder ? Integer.MAX_VALUE : candidatesPerStop(stops.size()));
+            if (candidates[stop].length == 0) {
+                System.out.println("No reachable locations found matching landmark: " + stops.get(stop));
+                return null;
+            }
+        }
+
+        // Table nodes: start, every candidate, end
+        int[] nodeLocations = new int[n + 2];
+        int[] nodeOf = new int[n];
+        Arrays.fill(nodeOf, -1);
+        int nodes = 0;
+        nodeOf[start] = nodes;
+        nodeLocations[nodes++] = start;
+        for (int[] stopCandidates : candidates) {
+            for (int location : stopCandidates) {
+                if (nodeOf[location] == -1) {
+                    nodeOf[location] = nodes;
+                    nodeLocations[nodes++] = location;
+                }
+            }
+        }
+        if (nodeOf[end] == -1) {
+            nodeOf[end] = nodes;
+            nodeLocations[nodes++] = end;
+        }
+        nodeLocations = Arrays.copyOf(nodeLocations, nodes);
+        double[][] table = GraphSearch.distanceTable(graph, nodeLocations, nodeLocations);
+
+        int[][] candidateNodes = new int[candidates.length][];
+        for (int stop = 0; stop < candidates.length; stop++) {
+            candidateNodes[stop] = new int[candidates[stop].length];
+            for (int c = 0; c < candidates[stop].length; c++) {
+                candidateNodes[stop][c] = nodeOf[candidates[stop][c]];
+            }
+        }
+
+        int[] visitOrder = fixedOrder
+            ? solveFixedOrder(table, candidateNodes, nodeOf[start], nodeOf[end])
+            : solveFreeOrder(table, candidateNodes, nodeOf[start], nodeOf[end]);
+        if (visitOrder == null) {
+            return null;
+        }
+
+        int[] waypoints = new int[visitOrder.length + 2];
+        waypoints[0] = start;
+        for (int i = 0; i < visitOrder.length; i++) {
+            waypoints[i + 1] = nodeLocations[visitOrder[i]];
+        }
+        waypoints[waypoints.length - 1] = end;
+
+        Route route = buildRoute(graph, waypoints, heap);
+        if (route != null) {
+            route.algorithmUsed = fixedOrder ? "Errand Routing (fixed order)" : "Errand Routing (best order)";
+        }
+        return route;
+    }
+
+    /**
+     * Members kept per stop in a free order, so that 2^stops * (stops * cap)^2 stays within
+     * FREE_ORDER_TRANSITION_BUDGET
+     */
+    static int candidatesPerStop(int stops) {
+        if (stops <= 0) {
+            return MAX_CANDIDATES_PER_STOP;
+        }
+        double slots = Math.sqrt(FREE_ORDER_TRANSITION_BUDGET / (double) (1L << stops));
+        return (int) Math.max(1, Math.min(MAX_CANDIDATES_PER_STOP, Math.floor(slots / stops)));
+    }
+
+    /**
+     * Reachable members with the smallest d(start, l) + d(l, end), at most limit of them
+     */
+    private static int[] nearestCandidates(int[] members, double[] fromStart, double[] toEnd, int limit) {
+        int[] reachable = new int[members.length];
+        double[] totals = new double[members.length];
+        int count = 0;
+        for (int member : members) {
+            double total = fromStart[member] + toEnd[member];
+            if (total != CampusGraph.INFINITY) {
+                reachable[count] = member;
+                totals[count++] = total;
+            }
+        }
+
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        int kept = RouteSorter.selectSmallest(order, count, limit, new double[][]{totals});
+        int[] result = new int[kept];
+        for (int i = 0; i < kept; i++) {
+            result[i] = reachable[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Layered DP: best[j] = cheapest way to reach candidate j of the current stop
+     * @return Chosen table node per stop, in stop order, or null if unreachable
+     */
+    static int[] solveFixedOrder(double[][] table, int[][] candidates, int start, int end) {
+        int stops = candidates.length;
+        if (stops == 0) {
+            return new int[0];
+        }
+
+        int[][] previous = new int[stops][];
+        double[] best = new double[candidates[0].length];
+        for (int j = 0; j < best.length; j++) {
+            best[j] = table[start][candidates[0][j]];
+        }
+
+        for (int stop = 1; stop < stops; stop++) {
+            int[] layer = candidates[stop], prevLayer = candidates[stop - 1];
+            double[] next = new double[layer.length];
+            previous[stop] = new int[layer.length];
+            for (int j = 0; j < layer.length; j++) {
+                next[j] = CampusGraph.INFINITY;
+                for (int i = 0; i < prevLayer.length; i++) {
+                    double cost = best[i] + table[prevLayer[i]][layer[j]];
+                    if (cost < next[j]) {
+                        next[j] = cost;
+                        previous[stop][j] = i;
+                    }
+                }
+            }
+            best = next;
+        }
+
+        int last = -1;
+        double bestTotal = CampusGraph.INFINITY;
+        int[] lastLayer = candidates[stops - 1];
+        for (int j = 0; j < lastLayer.length; j++) {
+            double total = best[j] + table[lastLayer[j]][end];
+            if (total < bestTotal) {
+                bestTotal = total;
+                last = j;
+            }
+        }
+        if (last == -1) {
+            return null;
+        }
+
+        int[] order = new int[stops];
+        for (int stop = stops - 1; stop >= 0; stop--) {
+            order[stop] = candidates[stop][last];
+            if (stop > 0) {
+                last = previous[stop][last];
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Bitmask DP over the set of stops already visited. A state is (visited mask, last candidate);
+     * candidates of all stops are numbered consecutively into slots.
+     * @return Chosen table node per visit, in visiting order, or null if unreachable
+     */
+    static int[] solveFreeOrder(double[][] table, int[][] candidates, int start, int end) {
+        int stops = candidates.length;
+        if (stops == 0) {
+            return new int[0];
+        }
+
+        int slots = 0;
+        for (int[] stopCandidates : candidates) {
+            slots += stopCandidates.length;
+        }
+        int[] slotStop = new int[slots];
+        int[] slotNode = new int[slots];
+        int slot = 0;
+        for (int stop = 0; stop < stops; stop++) {
+            for (int node : candidates[stop]) {
+                slotStop[slot] = stop;
+                slotNode[slot++] = node;
+            }
+        }
+
+        int masks = 1 << stops;
+        double[] cost = new double[masks * slots];
+        int[] parent = new int[masks * slots];
+        Arrays.fill(cost, CampusGraph.INFINITY);
+        for (int s = 0; s < slots; s++) {
+            cost[(1 << slotStop[s]) * slots + s] = table[start][slotNode[s]];
+            parent[(1 << slotStop[s]) * slots + s] = -1;
+        }
+
+        for (int mask = 1; mask < masks; mask++) {
+            for (int s = 0; s < slots; s++) {
+                double current = cost[mask * slots + s];
+                if (current == CampusGraph.INFINITY || (mask & (1 << slotStop[s])) == 0) continue;
+                double[] fromRow = table[slotNode[s]];
+                for (int t = 0; t < slots; t++) {
+                    int bit = 1 << slotStop[t];
+                    if ((mask & bit) != 0) continue;
+                    int state = (mask | bit) * slots + t;
+                    double candidate = current + fromRow[slotNode[t]];
+                    if (candidate < cost[state]) {
+                        cost[state] = candidate;
+                        parent[state] = mask * slots + s;
+                    }
+                }
+            }
+        }
+
+        int full = masks - 1;
+        int bestState = -1;
+        double bestTotal = CampusGraph.INFINITY;
+        for (int s = 0; s < slots; s++) {
+            double total = cost[full * slots + s] + table[slotNode[s]][end];
+            if (total < bestTotal) {
+                bestTotal = total;
+                bestState = full * slots + s;
+            }
+        }
+        if (bestState == -1) {
+            return null;
+        }
+
+        int[] order = new int[stops];
+        for (int i = stops - 1, state = bestState; i >= 0; i--) {
+            order[i] = slotNode[state % slots];
+            state = parent[state];
+        }
+        return order;
+    }
+
+    /**
+     * Stitch shortest paths between consecutive waypoints into one route
+     */
+    private static Route buildRoute(CampusGraph graph, int[] waypoints, IndexedMinHeap heap) {
+        int n = graph.size();
+        double[] distances = new double[n];
+        int[] parent = new int[n];
+        int[] leg = new int[n];
+        List<Integer> path = new ArrayList<>();
+        path.add(waypoints[0]);
+
+        for (int w = 1; w < waypoints.length; w++) {
+            int from = waypoints[w - 1], to = waypoints[w];
+            if (from == to) continue;
+            GraphSearch.shortestPathTree(graph, from, distances, parent, heap);
+            if (parent[to] == -1) {
+                return null;
+            }
+            // The tree gives the leg backwards; collect it, then append it in walking order
+            int length = 0;
+            for (int v = to; v != from; v = parent[v]) {
+                leg[length++] = v;
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                path.add(leg[i]);
+            }
+        }
+
+        if (path.size() < 2) {
+            return null;
+        }
+
+        int[] pathArray = new int[path.size()];
+        double[] segments = new double[path.size() - 1];
+        for (int i = 0; i < pathArray.length; i++) {
+            pathArray[i] = path.get(i);
+            if (i > 0) {
+                segments[i - 1] = graph.getEdgeWeight(pathArray[i - 1], pathArray[i]);
+            }
+        }
+        return ReadCSV.buildPathRoute(graph.getLocations(), pathArray, segments);
+    }
+}
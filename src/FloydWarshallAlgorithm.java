@@ -1,28 +1,226 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
 public class FloydWarshallAlgorithm {
+    
+    // Tile edge for the blocked algorithm: three 64x64 double tiles (96 KB) stay resident in L2
+    static final int BLOCK_SIZE = 64;
+    
+    // Below this many locations the tiles per phase are too few to be worth forking
+    static final int PARALLEL_THRESHOLD = 512;
+    
+    // Row-slice min-plus loop: SIMD when jdk.incubator.vector is available, scalar otherwise
+    static final MinPlusKernel KERNEL = MinPlusKernel.select();
+    
     public static double[][] findAllPairsShortestPaths(java.util.List<String[]> adjacencyMatrix) {
-        if (adjacencyMatrix == null || adjacencyMatrix.isEmpty()) {
+        CampusGraph graph = CampusGraph.fromAdjacencyMatrix(adjacencyMatrix);
+        if (graph == null) {
             return null;
         }
         
-        int n = adjacencyMatrix.get(0).length;
-        double[][] distances = new double[n][n];
+        int n = graph.size();
+        double[] distances = graph.copyWeightMatrix();
+        if (n >= PARALLEL_THRESHOLD) {
+            findAllPairsShortestPathsParallel(distances, n, Runtime.getRuntime().availableProcessors());
+        } else {
+            findAllPairsShortestPaths(distances, n);
+        }
+        return toMatrix(distances, n);
+    }
+    
+    /**
+     * All-pairs shortest distances together with the next-hop matrix,
+     * so full routes can be read back without any further search
+     * @param adjacencyMatrix The campus distance matrix
+     * @return Distance and next-hop table, or null if the matrix is empty
+     */
+    public static ShortestPathTable findAllPairsWithPaths(java.util.List<String[]> adjacencyMatrix) {
+        CampusGraph graph = CampusGraph.fromAdjacencyMatrix(adjacencyMatrix);
+        return graph == null ? null : findAllPairsWithPaths(graph);
+    }
+    
+    public static ShortestPathTable findAllPairsWithPaths(CampusGraph graph) {
+        int n = graph.size();
+        double[] distances = graph.copyWeightMatrix();
+        int[] nextHop = ShortestPathTable.initialNextHops(distances, n);
+        if (n >= PARALLEL_THRESHOLD) {
+            findAllPairsShortestPathsParallel(distances, nextHop, n, Runtime.getRuntime().availableProcessors());
+        } else {
+            findAllPairsShortestPaths(distances, nextHop, n);
+        }
+        return new ShortestPathTable(graph.getLocations(), distances, nextHop);
+    }
+    
+    /**
+     * Blocked (tiled) Floyd-Warshall on a flat row-major n x n matrix, in place.
+     * For each diagonal tile K the three dependency phases run in order:
+     * the diagonal tile itself, then the tiles in row K and column K, then all remaining tiles.
+     * @param distances Row-major distances, Double.POSITIVE_INFINITY where there is no edge
+     * @param n Number of locations
+     */
+    public static void findAllPairsShortestPaths(double[] distances, int n) {
+        findAllPairsShortestPaths(distances, null, n);
+    }
+    
+    /**
+     * Blocked Floyd-Warshall that also maintains the next-hop matrix:
+     * nextHop[i*n+j] is the first location after i on the shortest path to j, -1 if unreachable
+     * @param nextHop Row-major next hops (see ShortestPathTable.initialNextHops), or null to skip
+     */
+    public static void findAllPairsShortestPaths(double[] distances, int[] nextHop, int n) {
+        findAllPairsShortestPaths(distances, nextHop, n, KERNEL);
+    }
+    
+    /**
+     * Blocked Floyd-Warshall with an explicit row kernel, used to compare kernels side by side
+     */
+    static void findAllPairsShortestPaths(double[] distances, int[] nextHop, int n, MinPlusKernel kernel) {
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
         
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                if (i == j) {
-                    distances[i][j] = 0.0;
-                } else {
-                    try {
-                        String distanceStr = adjacencyMatrix.get(i)[j];
-                        double distance = Double.parseDouble(distanceStr);
-                        distances[i][j] = (distance > 0) ? distance : Double.POSITIVE_INFINITY;
-                    } catch (NumberFormatException | IndexOutOfBoundsException e) {
-                        distances[i][j] = Double.POSITIVE_INFINITY;
-                    }
+        for (int kb = 0; kb < blocks; kb++) {
+            int k0 = kb * BLOCK_SIZE, k1 = Math.min(k0 + BLOCK_SIZE, n);
+            
+            // Phase 1: diagonal tile depends only on itself
+            relax(kernel, distances, nextHop, n, k0, k1, k0, k1, k0, k1);
+            
+            // Phase 2: tiles sharing a row or column with the diagonal tile
+            for (int b = 0; b < blocks; b++) {
+                if (b == kb) continue;
+                int b0 = b * BLOCK_SIZE, b1 = Math.min(b0 + BLOCK_SIZE, n);
+                relax(kernel, distances, nextHop, n, k0, k1, b0, b1, k0, k1);
+                relax(kernel, distances, nextHop, n, b0, b1, k0, k1, k0, k1);
+            }
+            
+            // Phase 3: every other tile, using the finished row and column tiles
+            for (int ib = 0; ib < blocks; ib++) {
+                if (ib == kb) continue;
+                int i0 = ib * BLOCK_SIZE, i1 = Math.min(i0 + BLOCK_SIZE, n);
+                for (int jb = 0; jb < blocks; jb++) {
+                    if (jb == kb) continue;
+                    int j0 = jb * BLOCK_SIZE, j1 = Math.min(j0 + BLOCK_SIZE, n);
+                    relax(kernel, distances, nextHop, n, i0, i1, j0, j1, k0, k1);
                 }
             }
         }
+    }
+    
+    /**
+     * Parallel blocked Floyd-Warshall, in place. Phase 1 of each round is a single tile;
+     * the row/column tiles of phase 2 and the remaining tiles of phase 3 are mutually
+     * independent, so each phase forks one task per tile and joins before the next phase.
+     * @param distances Row-major distances, Double.POSITIVE_INFINITY where there is no edge
+     * @param n Number of locations
+     * @param parallelism Number of worker threads to use
+     */
+    public static void findAllPairsShortestPathsParallel(double[] distances, int n, int parallelism) {
+        findAllPairsShortestPathsParallel(distances, null, n, parallelism);
+    }
+    
+    public static void findAllPairsShortestPathsParallel(double[] distances, int[] nextHop, int n, int parallelism) {
+        if (parallelism <= 1) {
+            findAllPairsShortestPaths(distances, nextHop, n);
+            return;
+        }
+        
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    runParallelPhases(distances, nextHop, n);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    private static void runParallelPhases(double[] distances, int[] nextHop, int n) {
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
         
+        for (int kb = 0; kb < blocks; kb++) {
+            int k0 = kb * BLOCK_SIZE, k1 = Math.min(k0 + BLOCK_SIZE, n);
+            
+            // Phase 1: diagonal tile
+            relax(KERNEL, distances, nextHop, n, k0, k1, k0, k1, k0, k1);
+            
+            // Phase 2: row and column tiles in parallel
+            tasks.clear();
+            for (int b = 0; b < blocks; b++) {
+                if (b == kb) continue;
+                int b0 = b * BLOCK_SIZE, b1 = Math.min(b0 + BLOCK_SIZE, n);
+                tasks.add(ForkJoinTask.adapt(() -> relax(KERNEL, distances, nextHop, n, k0, k1, b0, b1, k0, k1)));
+                tasks.add(ForkJoinTask.adapt(() -> relax(KERNEL, distances, nextHop, n, b0, b1, k0, k1, k0, k1)));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            
+            // Phase 3: remaining tiles in parallel
+            tasks.clear();
+            for (int ib = 0; ib < blocks; ib++) {
+                if (ib == kb) continue;
+                int i0 = ib * BLOCK_SIZE, i1 = Math.min(i0 + BLOCK_SIZE, n);
+                for (int jb = 0; jb < blocks; jb++) {
+                    if (jb == kb) continue;
+                    int j0 = jb * BLOCK_SIZE, j1 = Math.min(j0 + BLOCK_SIZE, n);
+                    tasks.add(ForkJoinTask.adapt(() -> relax(KERNEL, distances, nextHop, n, i0, i1, j0, j1, k0, k1)));
+                }
+            }
+            ForkJoinTask.invokeAll(tasks);
+        }
+    }
+    
+    private static void relax(MinPlusKernel kernel, double[] d, int[] nextHop, int n,
+                              int i0, int i1, int j0, int j1, int k0, int k1) {
+        if (nextHop == null) {
+            relaxBlock(kernel, d, n, i0, i1, j0, j1, k0, k1);
+        } else {
+            relaxBlockWithNextHop(kernel, d, nextHop, n, i0, i1, j0, j1, k0, k1);
+        }
+    }
+    
+    /**
+     * Same tile update as relaxBlock, also routing improved (i,j) pairs through i's first hop towards k
+     */
+    static void relaxBlockWithNextHop(MinPlusKernel kernel, double[] d, int[] nextHop, int n, 
+                                      int i0, int i1, int j0, int j1, int k0, int k1) {
+        for (int k = k0; k < k1; k++) {
+            int kRow = k * n;
+            for (int i = i0; i < i1; i++) {
+                int iRow = i * n;
+                double dik = d[iRow + k];
+                if (dik == Double.POSITIVE_INFINITY) continue;
+                kernel.relaxRow(d, nextHop, iRow, kRow, dik, nextHop[iRow + k], j0, j1);
+            }
+        }
+    }
+    
+    /**
+     * Min-plus update of tile [i0,i1) x [j0,j1) through intermediates [k0,k1).
+     * Unreachable (i,k) rows are skipped once per row; the row slice itself goes to the
+     * kernel, which can stay branch-free since INFINITY + x stays INFINITY.
+     */
+    static void relaxBlock(MinPlusKernel kernel, double[] d, int n, int i0, int i1, int j0, int j1, int k0, int k1) {
+        for (int k = k0; k < k1; k++) {
+            int kRow = k * n;
+            for (int i = i0; i < i1; i++) {
+                int iRow = i * n;
+                double dik = d[iRow + k];
+                if (dik == Double.POSITIVE_INFINITY) continue;
+                kernel.relaxRow(d, iRow, kRow, dik, j0, j1);
+            }
+        }
+    }
+    
+    /**
+     * Classic triple-loop Floyd-Warshall on a 2D matrix, in place.
+     * Kept as the reference implementation for validation and benchmarks.
+     */
+    static void findAllPairsShortestPathsClassic(double[][] distances) {
+        int n = distances.length;
         for (int k = 0; k < n; k++) {
             for (int i = 0; i < n; i++) {
                 for (int j = 0; j < n; j++) {
@@ -36,42 +234,68 @@ public class FloydWarshallAlgorithm {
                 }
             }
         }
-        
-        return distances;
+    }
+    
+    static double[][] toMatrix(double[] flat, int n) {
+        double[][] matrix = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(flat, i * n, matrix[i], 0, n);
+        }
+        return matrix;
+    }
+    
+    static double[] toFlat(double[][] matrix) {
+        int n = matrix.length;
+        double[] flat = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(matrix[i], 0, flat, i * n, n);
+        }
+        return flat;
     }
     
     public static double getShortestDistance(double[][] distances, String[] locations, 
                                            String startLocation, String endLocation) {
-        int startIndex = -1, endIndex = -1;
+        int[] indices = findLocationIndices(locations, startLocation, endLocation);
         
-        for (int i = 0; i < locations.length; i++) {
-            if (locations[i].contains(startLocation)) {
-                startIndex = i;
-            }
-            if (locations[i].contains(endLocation)) {
-                endIndex = i;
-            }
+        if (indices == null || distances == null) {
+            return -1;
         }
         
-        if (startIndex == -1 || endIndex == -1 || distances == null) {
+        double distance = distances[indices[0]][indices[1]];
+        return (distance == Double.POSITIVE_INFINITY) ? -1 : distance;
+    }
+    
+    /**
+     * Same lookup as getShortestDistance but answered by any distance oracle
+     * (e.g. hub labels) instead of a precomputed n x n table
+     */
+    public static double getShortestDistance(DistanceOracle oracle, String[] locations,
+                                           String startLocation, String endLocation) {
+        int[] indices = findLocationIndices(locations, startLocation, endLocation);
+        
+        if (indices == null || oracle == null) {
             return -1;
         }
         
-        double distance = distances[startIndex][endIndex];
+        double distance = oracle.getDistance(indices[0], indices[1]);
         return (distance == Double.POSITIVE_INFINITY) ? -1 : distance;
     }
     
+    static int[] findLocationIndices(String[] locations, String startLocation, String endLocation) {
+        int startIndex = LocationSearchEngine.resolve(locations, startLocation);
+        int endIndex = LocationSearchEngine.resolve(locations, endLocation);
+        
+        if (startIndex == -1 || endIndex == -1) {
+            return null;
+        }
+        return new int[]{startIndex, endIndex};
+    }
+    
     public static java.util.List<String> findLocationsWithinDistance(double[][] distances, String[] locations,
                                                                     String startLocation, double maxDistance) {
         java.util.List<String> nearbyLocations = new java.util.ArrayList<>();
         
-        int startIndex = -1;
-        for (int i = 0; i < locations.length; i++) {
-            if (locations[i].contains(startLocation)) {
-                startIndex = i;
-                break;
-            }
-        }
+        int startIndex = LocationSearchEngine.resolve(locations, startLocation);
         
         if (startIndex == -1 || distances == null) {
             return nearbyLocations;
@@ -87,6 +311,27 @@ public class FloydWarshallAlgorithm {
         return nearbyLocations;
     }
     
+    /**
+     * Same query answered from a range index: a binary search plus a prefix copy
+     * instead of a full row scan. Locations come back nearest first.
+     */
+    public static java.util.List<String> findLocationsWithinDistance(DistanceRangeIndex index, String[] locations,
+                                                                    String startLocation, double maxDistance) {
+        java.util.List<String> nearbyLocations = new java.util.ArrayList<>();
+        
+        int startIndex = LocationSearchEngine.resolve(locations, startLocation);
+        
+        if (startIndex == -1 || index == null) {
+            return nearbyLocations;
+        }
+        
+        for (int i : index.withinDistance(startIndex, maxDistance)) {
+            nearbyLocations.add(locations[i]);
+        }
+        
+        return nearbyLocations;
+    }
+    
     public static boolean hasPath(double[][] distances, String[] locations,
                                  String startLocation, String endLocation) {
         return getShortestDistance(distances, locations, startLocation, endLocation) > 0;
@@ -0,0 +1,154 @@
+import java.util.Arrays;
+
+/**
+ * Primitive single-source shortest path searches over a CampusGraph.
+ * Results are written into caller-supplied arrays so rows can go straight
+ * into flat n x n tables without intermediate objects.
+ */
+public class GraphSearch {
+
+    /**
+     * Dijkstra from one source, producing the source's row of the distance and next-hop tables
+     * @param graph Campus graph
+     * @param source Source location index
+     * @param distances Output distances, written at [offset, offset + n)
+     * @param firstHop Output first hop from the source towards each location (-1 if unreachable)
+     * @param offset Start of the row inside the output arrays
+     * @param heap Reusable heap with capacity n; left empty on return
+     */
+    public static void shortestPathRow(CampusGraph graph, int source, double[] distances, int[] firstHop,
+                                       int offset, IndexedMinHeap heap) {
+        int n = graph.size();
+        int[] offsets = graph.getOutOffsets();
+        int[] targets = graph.getOutTargets();
+        double[] weights = graph.getOutWeights();
+
+        Arrays.fill(distances, offset, offset + n, CampusGraph.INFINITY);
+        Arrays.fill(firstHop, offset, offset + n, -1);
+        distances[offset + source] = 0.0;
+        firstHop[offset + source] = source;
+        heap.clear();
+        heap.insertOrDecrease(source, 0.0);
+
+        while (!heap.isEmpty()) {
+            int v = heap.pollMin();
+            double dv = distances[offset + v];
+            int hop = (v == source) ? -1 : firstHop[offset + v];
+
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = targets[e];
+                double candidate = dv + weights[e];
+                if (candidate < distances[offset + u]) {
+                    distances[offset + u] = candidate;
+                    firstHop[offset + u] = (hop == -1) ? u : hop;
+                    heap.insertOrDecrease(u, candidate);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Dijkstra tree from a source: distances from the source and each location's parent on its shortest path
+     * @param distances Output distances from the source, length n
+     * @param parent Output predecessor of each location (source maps to itself, -1 if unreachable)
+     * @param heap Reusable heap with capacity n; left empty on return
+     */
+    public static void shortestPathTree(CampusGraph graph, int source, double[] distances, int[] parent,
+                                        IndexedMinHeap heap) {
+        growTree(graph.getOutOffsets(), graph.getOutTargets(), graph.getOutWeights(),
+                 source, distances, parent, heap);
+    }
+    
+    /**
+     * Dijkstra tree into a target over reversed walkways: distances to the target and
+     * each location's next step towards it
+     * @param distances Output distances to the target, length n
+     * @param successor Output next location on the shortest path to the target (target maps to itself, -1 if unreachable)
+     * @param heap Reusable heap with capacity n; left empty on return
+     */
+    public static void reverseShortestPathTree(CampusGraph graph, int target, double[] distances, int[] successor,
+                                               IndexedMinHeap heap) {
+        growTree(graph.getInOffsets(), graph.getInSources(), graph.getInWeights(),
+                 target, distances, successor, heap);
+    }
+    
+    /**
+     * Many-to-many shortest distances: one Dijkstra per source, each stopping as soon as
+     * every target has been settled
+     * @param sources Source location indices
+     * @param targets Target location indices (duplicates allowed)
+     * @return table[s][t] = distance from sources[s] to targets[t], INFINITY if unreachable
+     */
+    public static double[][] distanceTable(CampusGraph graph, int[] sources, int[] targets) {
+        int n = graph.size();
+        int[] offsets = graph.getOutOffsets();
+        int[] neighbours = graph.getOutTargets();
+        double[] weights = graph.getOutWeights();
+        
+        boolean[] isTarget = new boolean[n];
+        int distinctTargets = 0;
+        for (int target : targets) {
+            if (!isTarget[target]) {
+                isTarget[target] = true;
+                distinctTargets++;
+            }
+        }
+        
+        double[][] table = new double[sources.length][targets.length];
+        double[] distances = new double[n];
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        
+        for (int s = 0; s < sources.length; s++) {
+            Arrays.fill(distances, CampusGraph.INFINITY);
+            distances[sources[s]] = 0.0;
+            heap.clear();
+            heap.insertOrDecrease(sources[s], 0.0);
+            int remaining = distinctTargets;
+            
+            while (!heap.isEmpty() && remaining > 0) {
+                int v = heap.pollMin();
+                if (isTarget[v]) {
+                    remaining--;
+                }
+                double dv = distances[v];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int u = neighbours[e];
+                    double candidate = dv + weights[e];
+                    if (candidate < distances[u]) {
+                        distances[u] = candidate;
+                        heap.insertOrDecrease(u, candidate);
+                    }
+                }
+            }
+            
+            for (int t = 0; t < targets.length; t++) {
+                table[s][t] = distances[targets[t]];
+            }
+        }
+        return table;
+    }
+    
+    private static void growTree(int[] offsets, int[] neighbours, double[] weights,
+                                 int root, double[] distances, int[] link, IndexedMinHeap heap) {
+        Arrays.fill(distances, CampusGraph.INFINITY);
+        Arrays.fill(link, -1);
+        distances[root] = 0.0;
+        link[root] = root;
+        heap.clear();
+        heap.insertOrDecrease(root, 0.0);
+        
+        while (!heap.isEmpty()) {
+            int v = heap.pollMin();
+            double dv = distances[v];
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = neighbours[e];
+                double candidate = dv + weights[e];
+                if (candidate < distances[u]) {
+                    distances[u] = candidate;
+                    link[u] = v;
+                    heap.insertOrDecrease(u, candidate);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,416 @@
+import java.io.*;
+import java.util.*;
+
+/**
+ * Hub labeling distance oracle for pure distance lookups (ETA display, matrix
+ * exports, landmark detour checks).
+ *
+ * Every location stores a label: a list of (hub, distance) pairs sorted by hub rank.
+ * Labels are built with pruned Dijkstra searches run from each vertex in importance
+ * order, so the most central locations become hubs for everyone else and labels
+ * stay short. A query d(s, t) is a merge of the out-label of s with the in-label of t,
+ * taking the minimum of d(s, hub) + d(hub, t) over their common hubs.
+ *
+ * The index is tied to a graph version and can be written to and read back from disk.
+ */
+public class HubLabelingOracle implements DistanceOracle {
+
+    private static final int FILE_MAGIC = 0x48554231; // "HUB1"
+    private static final int ORDER_SAMPLES = 16;
+
+    private final long graphVersion;
+    private final int n;
+    private final int[] rankToVertex;
+
+    // Out-labels: hubs reachable from v with d(v, hub)
+    private final int[] outOffsets;
+    private final int[] outHubs;
+    private final double[] outDistances;
+
+    // In-labels: hubs that reach v with d(hub, v); shared with out-labels on symmetric graphs
+    private final int[] inOffsets;
+    private final int[] inHubs;
+    private final double[] inDistances;
+
+    private HubLabelingOracle(long graphVersion, int[] rankToVertex,
+                              int[] outOffsets, int[] outHubs, double[] outDistances,
+                              int[] inOffsets, int[] inHubs, double[] inDistances) {
+        this.graphVersion = graphVersion;
+        this.n = rankToVertex.length;
+        this.rankToVertex = rankToVertex;
+        this.outOffsets = outOffsets;
+        this.outHubs = outHubs;
+        this.outDistances = outDistances;
+        this.inOffsets = inOffsets;
+        this.inHubs = inHubs;
+        this.inDistances = inDistances;
+    }
+
+    /**
+     * Build the hub labels for a campus graph
+     * @param graph Parsed campus graph
+     * @return Hub labeling index for the graph's current version
+     */
+    public static HubLabelingOracle build(CampusGraph graph) {
+        int n = graph.size();
+        int[] order = computeVertexOrder(graph);
+        boolean symmetric = graph.isSymmetric();
+
+        LabelBuilder out = new LabelBuilder(n);
+        LabelBuilder in = symmetric ? out : new LabelBuilder(n);
+
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        double[] distance = new double[n];
+        double[] hubDistance = new double[n]; // indexed by rank, scratch for pruning queries
+        Arrays.fill(distance, CampusGraph.INFINITY);
+        Arrays.fill(hubDistance, CampusGraph.INFINITY);
+        int[] touched = new int[n];
+
+        for (int rank = 0; rank < n; rank++) {
+            int hub = order[rank];
+
+            // Forward search: d(hub, v) goes into the in-label of v
+            prunedSearch(hub, rank, graph.getOutOffsets(), graph.getOutTargets(), graph.getOutWeights(),
+                         out, in, heap, distance, hubDistance, touched);
+
+            if (!symmetric) {
+                // Backward search: d(v, hub) goes into the out-label of v
+                prunedSearch(hub, rank, graph.getInOffsets(), graph.getInSources(), graph.getInWeights(),
+                             in, out, heap, distance, hubDistance, touched);
+            }
+        }
+
+        LabelBuilder.Frozen outLabels = out.freeze();
+        LabelBuilder.Frozen inLabels = symmetric ? outLabels : in.freeze();
+        return new HubLabelingOracle(graph.getVersion(), order,
+                                     outLabels.offsets, outLabels.hubs, outLabels.distances,
+                                     inLabels.offsets, inLabels.hubs, inLabels.distances);
+    }
+
+    /**
+     * One pruned Dijkstra run from a hub. A vertex is pruned when the labels built so far
+     * already certify a distance no longer than the tentative one.
+     * @param sourceSide Labels of the hub used on its own side of the query
+     * @param targetSide Labels that receive the new (rank, distance) entries
+     */
+    private static void prunedSearch(int hub, int rank, int[] offsets, int[] neighbors, double[] edgeWeights,
+                                     LabelBuilder sourceSide, LabelBuilder targetSide,
+                                     IndexedMinHeap heap, double[] distance, double[] hubDistance, int[] touched) {
+        // Spread the hub's own label into rank-indexed scratch for O(|label|) pruning queries
+        int hubLabelSize = sourceSide.sizes[hub];
+        int[] hubLabelHubs = sourceSide.hubs[hub];
+        double[] hubLabelDistances = sourceSide.distances[hub];
+        for (int i = 0; i < hubLabelSize; i++) {
+            hubDistance[hubLabelHubs[i]] = hubLabelDistances[i];
+        }
+
+        int touchedCount = 0;
+        distance[hub] = 0.0;
+        touched[touchedCount++] = hub;
+        heap.insertOrDecrease(hub, 0.0);
+
+        while (!heap.isEmpty()) {
+            int v = heap.pollMin();
+            double dv = distance[v];
+
+            // Prune if an existing hub already covers (hub, v) at least as well
+            int size = targetSide.sizes[v];
+            int[] labelHubs = targetSide.hubs[v];
+            double[] labelDistances = targetSide.distances[v];
+            boolean covered = false;
+            for (int i = 0; i < size; i++) {
+                if (hubDistance[labelHubs[i]] + labelDistances[i] <= dv) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (covered) continue;
+
+            targetSide.add(v, rank, dv);
+
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = neighbors[e];
+                double candidate = dv + edgeWeights[e];
+                if (candidate < distance[u]) {
+                    if (distance[u] == CampusGraph.INFINITY) {
+                        touched[touchedCount++] = u;
+                    }
+                    distance[u] = candidate;
+                    heap.insertOrDecrease(u, candidate);
+                }
+            }
+        }
+
+        for (int i = 0; i < touchedCount; i++) {
+            distance[touched[i]] = CampusGraph.INFINITY;
+        }
+        for (int i = 0; i < hubLabelSize; i++) {
+            hubDistance[hubLabelHubs[i]] = CampusGraph.INFINITY;
+        }
+    }
+
+    /**
+     * Contraction-style importance order: vertices that lie on many shortest paths
+     * are ranked first. Importance is estimated from shortest-path subtree sizes
+     * over a sample of sources, with degree as the tie-breaker.
+     */
+    private static int[] computeVertexOrder(CampusGraph graph) {
+        int n = graph.size();
+        int[] offsets = graph.getOutOffsets();
+        int[] targets = graph.getOutTargets();
+        double[] edgeWeights = graph.getOutWeights();
+        long[] coverage = new long[n];
+
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        double[] distance = new double[n];
+        int[] parent = new int[n];
+        int[] settledOrder = new int[n];
+        int[] subtree = new int[n];
+
+        int samples = Math.min(n, ORDER_SAMPLES);
+        for (int s = 0; s < samples; s++) {
+            int source = (int) ((long) s * n / samples);
+            Arrays.fill(distance, CampusGraph.INFINITY);
+            Arrays.fill(parent, -1);
+            distance[source] = 0.0;
+            heap.insertOrDecrease(source, 0.0);
+            int settled = 0;
+
+            while (!heap.isEmpty()) {
+                int v = heap.pollMin();
+                settledOrder[settled++] = v;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int u = targets[e];
+                    double candidate = distance[v] + edgeWeights[e];
+                    if (candidate < distance[u]) {
+                        distance[u] = candidate;
+                        parent[u] = v;
+                        heap.insertOrDecrease(u, candidate);
+                    }
+                }
+            }
+
+            // Subtree sizes in reverse settle order
+            for (int i = 0; i < settled; i++) {
+                subtree[settledOrder[i]] = 1;
+            }
+            for (int i = settled - 1; i > 0; i--) {
+                int v = settledOrder[i];
+                if (parent[v] != -1) {
+                    subtree[parent[v]] += subtree[v];
+                }
+            }
+            for (int i = 0; i < settled; i++) {
+                coverage[settledOrder[i]] += subtree[settledOrder[i]];
+            }
+        }
+
+        Integer[] vertices = new Integer[n];
+        for (int i = 0; i < n; i++) vertices[i] = i;
+        Arrays.sort(vertices, (a, b) -> {
+            if (coverage[a] != coverage[b]) return Long.compare(coverage[b], coverage[a]);
+            int degreeA = offsets[a + 1] - offsets[a];
+            int degreeB = offsets[b + 1] - offsets[b];
+            if (degreeA != degreeB) return Integer.compare(degreeB, degreeA);
+            return Integer.compare(a, b);
+        });
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = vertices[i];
+        return order;
+    }
+
+    @Override
+    public double getDistance(int from, int to) {
+        if (from == to) return 0.0;
+
+        int i = outOffsets[from], iEnd = outOffsets[from + 1];
+        int j = inOffsets[to], jEnd = inOffsets[to + 1];
+        double best = CampusGraph.INFINITY;
+
+        // Both labels are sorted by hub rank, so a linear merge finds the common hubs
+        while (i < iEnd && j < jEnd) {
+            int hubA = outHubs[i];
+            int hubB = inHubs[j];
+            if (hubA == hubB) {
+                double candidate = outDistances[i] + inDistances[j];
+                if (candidate < best) best = candidate;
+                i++;
+                j++;
+            } else if (hubA < hubB) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Drop-in replacement for FloydWarshallAlgorithm.getShortestDistance without the O(n²) table
+     * @return Shortest distance in km or -1 if either location is unknown or unreachable
+     */
+    public double getShortestDistance(String[] locations, String startLocation, String endLocation) {
+        return FloydWarshallAlgorithm.getShortestDistance(this, locations, startLocation, endLocation);
+    }
+
+    /**
+     * @return Content hash of the graph these labels were built from
+     */
+    public long getGraphVersion() {
+        return graphVersion;
+    }
+
+    /**
+     * @return Average number of hubs per label, a proxy for query cost
+     */
+    public double getAverageLabelSize() {
+        long total = (long) outHubs.length + (inHubs == outHubs ? outHubs.length : inHubs.length);
+        return total / (2.0 * Math.max(1, n));
+    }
+
+    /**
+     * Write the labels to disk
+     * @param file Destination file
+     */
+    public void writeTo(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            boolean symmetric = inHubs == outHubs;
+            out.writeInt(FILE_MAGIC);
+            out.writeLong(graphVersion);
+            out.writeInt(n);
+            out.writeBoolean(symmetric);
+            for (int v : rankToVertex) out.writeInt(v);
+            writeLabels(out, outOffsets, outHubs, outDistances);
+            if (!symmetric) {
+                writeLabels(out, inOffsets, inHubs, inDistances);
+            }
+        }
+    }
+
+    private static void writeLabels(DataOutputStream out, int[] offsets, int[] hubs, double[] distances)
+            throws IOException {
+        for (int offset : offsets) out.writeInt(offset);
+        for (int hub : hubs) out.writeInt(hub);
+        for (double distance : distances) out.writeDouble(distance);
+    }
+
+    /**
+     * Read labels previously written with writeTo
+     * @param file Source file
+     * @param expectedVersion Graph version the caller is working with
+     * @return The oracle, or null if the file is missing, corrupt or built for another graph version
+     */
+    public static HubLabelingOracle readFrom(File file, long expectedVersion) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) return null;
+            long version = in.readLong();
+            if (version != expectedVersion) return null;
+
+            int n = in.readInt();
+            boolean symmetric = in.readBoolean();
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) order[i] = in.readInt();
+
+            LabelBuilder.Frozen outLabels = readLabels(in, n);
+            LabelBuilder.Frozen inLabels = symmetric ? outLabels : readLabels(in, n);
+            return new HubLabelingOracle(version, order,
+                                         outLabels.offsets, outLabels.hubs, outLabels.distances,
+                                         inLabels.offsets, inLabels.hubs, inLabels.distances);
+        } catch (IOException e) {
+            System.err.println("Error reading hub labels: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static LabelBuilder.Frozen readLabels(DataInputStream in, int n) throws IOException {
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i <= n; i++) offsets[i] = in.readInt();
+        int total = offsets[n];
+        int[] hubs = new int[total];
+        double[] distances = new double[total];
+        for (int i = 0; i < total; i++) hubs[i] = in.readInt();
+        for (int i = 0; i < total; i++) distances[i] = in.readDouble();
+        return new LabelBuilder.Frozen(offsets, hubs, distances);
+    }
+
+    /**
+     * Load labels for the graph from disk, rebuilding and rewriting them if the file is stale
+     * @param graph Current campus graph
+     * @param file Label file for this graph
+     * @return Hub labeling index matching the graph's current version
+     */
+    public static HubLabelingOracle loadOrBuild(CampusGraph graph, File file) {
+        HubLabelingOracle oracle = readFrom(file, graph.getVersion());
+        if (oracle != null) {
+            return oracle;
+        }
+
+        oracle = build(graph);
+        try {
+            oracle.writeTo(file);
+        } catch (IOException e) {
+            System.err.println("Error writing hub labels: " + e.getMessage());
+        }
+        return oracle;
+    }
+
+    /**
+     * Growable per-vertex labels used while building
+     */
+    private static class LabelBuilder {
+        final int[][] hubs;
+        final double[][] distances;
+        final int[] sizes;
+
+        LabelBuilder(int n) {
+            hubs = new int[n][4];
+            distances = new double[n][4];
+            sizes = new int[n];
+        }
+
+        void add(int vertex, int hubRank, double distance) {
+            int size = sizes[vertex];
+            if (size == hubs[vertex].length) {
+                hubs[vertex] = Arrays.copyOf(hubs[vertex], size * 2);
+                distances[vertex] = Arrays.copyOf(distances[vertex], size * 2);
+            }
+            hubs[vertex][size] = hubRank;
+            distances[vertex][size] = distance;
+            sizes[vertex] = size + 1;
+        }
+
+        Frozen freeze() {
+            int n = sizes.length;
+            int[] offsets = new int[n + 1];
+            for (int v = 0; v < n; v++) offsets[v + 1] = offsets[v] + sizes[v];
+            int[] flatHubs = new int[offsets[n]];
+            double[] flatDistances = new double[offsets[n]];
+            for (int v = 0; v < n; v++) {
+                System.arraycopy(hubs[v], 0, flatHubs, offsets[v], sizes[v]);
+                System.arraycopy(distances[v], 0, flatDistances, offsets[v], sizes[v]);
+            }
+            return new Frozen(offsets, flatHubs, flatDistances);
+        }
+
+        static class Frozen {
+            final int[] offsets;
+            final int[] hubs;
+            final double[] distances;
+
+            Frozen(int[] offsets, int[] hubs, double[] distances) {
+                this.offsets = offsets;
+                this.hubs = hubs;
+                this.distances = distances;
+            }
+        }
+    }
+}
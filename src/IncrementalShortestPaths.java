@@ -0,0 +1,151 @@
+/**
+ * Keeps a ShortestPathTable current while walkways open, close or change length,
+ * without rerunning O(n³) Floyd-Warshall.
+ *
+ * - A shorter or new walkway (u,v) is folded in with one O(n²) pass:
+ *   d(i,j) = min(d(i,j), d(i,u) + w + d(v,j)).
+ * - A longer or closed walkway only invalidates pairs whose current shortest path
+ *   uses it. Those are found through the next-hop matrix, and only the affected
+ *   source rows are recomputed with Dijkstra.
+ *
+ * The engine listens to the CampusGraph, so every version change is applied as it happens.
+ */
+public class IncrementalShortestPaths implements CampusGraph.ChangeListener {
+
+    private static final byte UNKNOWN = 0, USES_EDGE = 1, AVOIDS_EDGE = 2;
+
+    private final CampusGraph graph;
+    private final ShortestPathTable table;
+    private final int n;
+
+    private int rowsRecomputed;
+
+    /**
+     * @param graph Graph the table was computed from; updates are tracked from now on
+     * @param table All-pairs table for the graph's current version, updated in place
+     */
+    public IncrementalShortestPaths(CampusGraph graph, ShortestPathTable table) {
+        this.graph = graph;
+        this.table = table;
+        this.n = graph.size();
+        graph.addChangeListener(this);
+    }
+
+    public ShortestPathTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return Total number of source rows rebuilt by Dijkstra so far
+     */
+    public int getRowsRecomputed() {
+        return rowsRecomputed;
+    }
+
+    /**
+     * Stop following graph changes
+     */
+    public void detach() {
+        graph.removeChangeListener(this);
+    }
+
+    @Override
+    public synchronized void edgeWeightChanged(CampusGraph changedGraph, int from, int to,
+                                               double oldWeight, double newWeight) {
+        if (newWeight < oldWeight) {
+            applyDecrease(from, to, newWeight);
+        } else {
+            applyIncrease(from, to);
+        }
+    }
+
+    /**
+     * O(n²) relaxation through the improved edge
+     */
+    private void applyDecrease(int u, int v, double weight) {
+        double[] d = table.getDistanceArray();
+        int[] next = table.getNextHopArray();
+
+        if (weight >= d[u * n + v]) {
+            return; // existing paths are already at least as short
+        }
+
+        int vRow = v * n;
+        for (int i = 0; i < n; i++) {
+            int iRow = i * n;
+            double toU = d[iRow + u];
+            if (toU == CampusGraph.INFINITY) continue;
+            double throughEdge = toU + weight;
+            int hop = (i == u) ? v : next[iRow + u];
+
+            for (int j = 0; j < n; j++) {
+                double candidate = throughEdge + d[vRow + j];
+                if (candidate < d[iRow + j]) {
+                    d[iRow + j] = candidate;
+                    next[iRow + j] = hop;
+                }
+            }
+        }
+    }
+
+    /**
+     * Recompute only the source rows whose shortest paths ran over edge (u,v)
+     */
+    private void applyIncrease(int u, int v) {
+        double[] d = table.getDistanceArray();
+        int[] next = table.getNextHopArray();
+
+        boolean[] affected = new boolean[n];
+        byte[] state = new byte[n];
+        int[] chain = new int[n];
+        boolean any = false;
+
+        for (int j = 0; j < n; j++) {
+            if (j == u || next[u * n + j] != v) continue;
+
+            // Sources whose path to j walks through u (and so over u -> v).
+            // Paths towards j form a tree via next hops; mark it with memoized walks.
+            java.util.Arrays.fill(state, UNKNOWN);
+            state[u] = USES_EDGE;
+            state[j] = AVOIDS_EDGE;
+
+            for (int i = 0; i < n; i++) {
+                if (state[i] != UNKNOWN) continue;
+                if (next[i * n + j] == -1) {
+                    state[i] = AVOIDS_EDGE;
+                    continue;
+                }
+                int length = 0;
+                int x = i;
+                while (state[x] == UNKNOWN && length < n) {
+                    chain[length++] = x;
+                    state[x] = AVOIDS_EDGE; // provisional, also guards against malformed cycles
+                    x = next[x * n + j];
+                }
+                byte result = state[x];
+                for (int c = 0; c < length; c++) {
+                    state[chain[c]] = result;
+                }
+            }
+
+            for (int i = 0; i < n; i++) {
+                if (state[i] == USES_EDGE) {
+                    affected[i] = true;
+                    any = true;
+                }
+            }
+        }
+
+        if (!any) {
+            return;
+        }
+
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        for (int i = 0; i < n; i++) {
+            if (affected[i]) {
+                GraphSearch.shortestPathRow(graph, i, d, next, i * n, heap);
+                rowsRecomputed++;
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over integer ids (0..capacity-1) keyed by primitive doubles.
+ * Supports decrease-key, so each id is in the heap at most once and no boxing
+ * or node objects are needed during graph searches.
+ */
+public class IndexedMinHeap {
+
+    private final int[] heap;       // heap position -> id
+    private final int[] position;   // id -> heap position, -1 when absent
+    private final double[] keys;    // id -> current key
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return position[id] != -1;
+    }
+
+    public double keyOf(int id) {
+        return keys[id];
+    }
+
+    /**
+     * Insert the id, or lower its key if it is already queued with a larger one
+     * @return true if the heap changed
+     */
+    public boolean insertOrDecrease(int id, double key) {
+        int pos = position[id];
+        if (pos == -1) {
+            keys[id] = key;
+            heap[size] = id;
+            position[id] = size;
+            siftUp(size++);
+            return true;
+        }
+        if (key < keys[id]) {
+            keys[id] = key;
+            siftUp(pos);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Key of the minimum element without removing it
+     */
+    public double peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Remove and return the id with the smallest key
+     */
+    public int pollMin() {
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Empty the heap in O(size) so it can be reused for the next search
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int id = heap[pos];
+        double key = keys[id];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key) break;
+            heap[pos] = parentId;
+            position[parentId] = pos;
+            pos = parent;
+        }
+        heap[pos] = id;
+        position[id] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int id = heap[pos];
+        double key = keys[id];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            int childId = heap[child];
+            if (key <= keys[childId]) break;
+            heap[pos] = childId;
+            position[childId] = pos;
+            pos = child;
+        }
+        heap[pos] = id;
+        position[id] = pos;
+    }
+}
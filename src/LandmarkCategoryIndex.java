@@ -0,0 +1,213 @@
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Inverted index from landmark categories (bank, library, dining, ...) to campus locations.
+ * Category rules are compiled once per location set into a long[] bitset and an int[] member
+ * list per category, so category lookups and filters are bit operations instead of repeated
+ * lowercase/contains scans over every name.
+ */
+public class LandmarkCategoryIndex {
+
+    /**
+     * A category, the search words that select it, and the name keywords that make a location a member
+     */
+    public static class CategoryRule {
+        final String name;
+        final String[] triggers;
+        final String[] keywords;
+
+        public CategoryRule(String name, String[] triggers, String[] keywords) {
+            this.name = name.toLowerCase();
+            this.triggers = lowerCase(triggers);
+            this.keywords = lowerCase(keywords);
+        }
+
+        private static String[] lowerCase(String[] words) {
+            String[] lower = new String[words.length];
+            for (int i = 0; i < words.length; i++) {
+                lower[i] = words[i].toLowerCase();
+            }
+            return lower;
+        }
+    }
+
+    // Checked in order: the first rule with a trigger contained in the search term wins
+    public static final List<CategoryRule> DEFAULT_RULES = Collections.unmodifiableList(Arrays.asList(
+        new CategoryRule("bank", new String[]{"bank", "atm"},
+                         new String[]{"bank", "atm", "gcb", "financial"}),
+        new CategoryRule("hospital", new String[]{"hospital", "medical", "clinic"},
+                         new String[]{"hospital", "clinic", "health", "medical"}),
+        new CategoryRule("library", new String[]{"library"},
+                         new String[]{"library", "balme", "reading"}),
+        new CategoryRule("sports", new String[]{"sports", "gym", "stadium"},
+                         new String[]{"sports", "stadium", "field", "court", "pool", "gym"}),
+        new CategoryRule("dining", new String[]{"dining", "food", "canteen"},
+                         new String[]{"canteen", "dining", "restaurant", "food", "market"}),
+        new CategoryRule("residence", new String[]{"residence", "hall", "hostel"},
+                         new String[]{"hall", "hostel", "residence", "accommodation"}),
+        new CategoryRule("academic", new String[]{"academic", "department", "school"},
+                         new String[]{"department", "school", "faculty", "college", "institute"})
+    ));
+
+    private static volatile LandmarkCategoryIndex defaultIndex;
+
+    private final String[] locations;
+    private final String[] lowerNames;
+    private final int[] byName;          // location indices ordered by lowercase name
+    private final List<CategoryRule> rules;
+    private final long[][] categoryBits; // per category, bit i set when location i is a member
+    private final int[][] members;       // per category, member indices in ascending order
+
+    public LandmarkCategoryIndex(String[] locations, List<CategoryRule> rules) {
+        this.locations = locations;
+        this.rules = new ArrayList<>(rules);
+        int n = locations.length;
+
+        lowerNames = new String[n];
+        for (int i = 0; i < n; i++) {
+            lowerNames[i] = locations[i].toLowerCase();
+        }
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> lowerNames[a].compareTo(lowerNames[b]));
+        byName = new int[n];
+        for (int i = 0; i < n; i++) {
+            byName[i] = order[i];
+        }
+
+        int words = (n + 63) >>> 6;
+        categoryBits = new long[this.rules.size()][words];
+        members = new int[this.rules.size()][];
+        int[] scratch = new int[n];
+        for (int c = 0; c < this.rules.size(); c++) {
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                if (containsAny(lowerNames[i], this.rules.get(c).keywords)) {
+                    categoryBits[c][i >>> 6] |= 1L << i;
+                    scratch[count++] = i;
+                }
+            }
+            members[c] = Arrays.copyOf(scratch, count);
+        }
+    }
+
+    /**
+     * Index over the default rules, built once and reused while the same location array is passed in
+     * (location names only change when Addresses.csv is reloaded)
+     */
+    public static LandmarkCategoryIndex forLocations(String[] locations) {
+        LandmarkCategoryIndex index = defaultIndex;
+        if (index == null || index.locations != locations) {
+            index = new LandmarkCategoryIndex(locations, DEFAULT_RULES);
+            defaultIndex = index;
+        }
+        return index;
+    }
+
+    private static boolean containsAny(String location, String[] keywords) {
+        for (String keyword : keywords) {
+            if (location.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return locations.length;
+    }
+
+    public int getCategoryCount() {
+        return rules.size();
+    }
+
+    public String getCategoryName(int category) {
+        return rules.get(category).name;
+    }
+
+    public List<String> getCategoryNames() {
+        List<String> names = new ArrayList<>();
+        for (CategoryRule rule : rules) {
+            names.add(rule.name);
+        }
+        return names;
+    }
+
+    /**
+     * Resolve a free-text landmark term ("ATM", "food", "Hospital") to a category
+     * @return Category id, or -1 if no rule's trigger occurs in the term
+     */
+    public int findCategory(String searchTerm) {
+        String term = searchTerm.toLowerCase();
+        for (int c = 0; c < rules.size(); c++) {
+            if (containsAny(term, rules.get(c).triggers)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    public boolean isMember(int category, int location) {
+        return (categoryBits[category][location >>> 6] & (1L << location)) != 0;
+    }
+
+    /**
+     * @return Member location indices of a category, ascending (shared, do not modify)
+     */
+    public int[] getMembers(int category) {
+        return members[category];
+    }
+
+    /**
+     * @return A copy of the category's membership bitset
+     */
+    public long[] getMemberBits(int category) {
+        return categoryBits[category].clone();
+    }
+
+    /**
+     * Does the location match a landmark type? Known categories are a bit test,
+     * anything else falls back to a name substring check.
+     */
+    public boolean matchesType(int location, String landmarkType) {
+        return typeFilter(landmarkType).test(location);
+    }
+
+    /**
+     * matchesType with the landmark type resolved once, for filtering many locations
+     */
+    public IntPredicate typeFilter(String landmarkType) {
+        int category = findCategory(landmarkType);
+        if (category >= 0) {
+            return location -> isMember(category, location);
+        }
+        String term = landmarkType.toLowerCase();
+        return location -> lowerNames[location].contains(term);
+    }
+
+    /**
+     * Locations for a landmark search: names containing the term (in name order),
+     * or all members of the term's category when no name contains it
+     * @return Matching location indices, empty if none
+     */
+    public int[] search(String landmark) {
+        String term = landmark.toLowerCase();
+        int[] matches = new int[locations.length];
+        int count = 0;
+        for (int i : byName) {
+            if (lowerNames[i].contains(term)) {
+                matches[count++] = i;
+            }
+        }
+        if (count > 0) {
+            return Arrays.copyOf(matches, count);
+        }
+
+        int category = findCategory(term);
+        return category >= 0 ? members[category].clone() : new int[0];
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.function.IntPredicate;
 
 /**
  * Landmark-based route searching and filtering system
@@ -18,203 +19,157 @@ public class LandmarkSearch {
     public static List<Route> searchRoutesWithLandmark(List<String[]> adjacencyMatrix, 
                                                       String startLocation, String endLocation, 
                                                       String landmark, double maxDetourDistance) {
+        if (adjacencyMatrix == null || adjacencyMatrix.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        return searchRoutesWithLandmark(CampusGraph.fromAdjacencyMatrix(adjacencyMatrix), 
+                                        startLocation, endLocation, landmark, maxDetourDistance);
+    }
+    
+    /**
+     * Landmark search on true shortest paths. A detour corridor between start and destination
+     * holds every location within the budget, ranked by detour, so only that part of the campus
+     * is searched and each candidate's route is read off the corridor's trees.
+     * @param graph Campus graph
+     * @param startLocation Starting location
+     * @param endLocation Destination location
+     * @param landmark Landmark to pass through or near
+     * @param maxDetourDistance Maximum additional distance over the shortest route
+     * @return Up to 3 routes through matching landmarks, shortest first, with every intermediate stop
+     */
+    public static List<Route> searchRoutesWithLandmark(CampusGraph graph, String startLocation, String endLocation,
+                                                      String landmark, double maxDetourDistance) {
         List<Route> landmarkRoutes = new ArrayList<>();
         
-        if (adjacencyMatrix == null || adjacencyMatrix.isEmpty()) {
+        if (graph == null) {
             return landmarkRoutes;
         }
         
-        String[] locations = adjacencyMatrix.get(0);
+        String[] locations = graph.getLocations();
         
         // Find all locations that match the landmark criteria
-        List<Integer> landmarkIndices = findLandmarkLocations(locations, landmark);
+        int[] landmarkIndices = findLandmarkLocations(locations, landmark);
+        
+        if (landmarkIndices.length == 0) {
+            RouteLog.println("No locations found matching landmark: " + landmark);
+            return landmarkRoutes;
+        }
         
-        if (landmarkIndices.isEmpty()) {
-            System.out.println("No locations found matching landmark: " + landmark);
+        int[] endpoints = FloydWarshallAlgorithm.findLocationIndices(locations, startLocation, endLocation);
+        if (endpoints == null) {
             return landmarkRoutes;
         }
         
-        // Generate routes through each landmark location
+        DetourCorridor corridor = DetourCorridor.search(graph, endpoints[0], endpoints[1], maxDetourDistance);
+        if (corridor.isEmpty()) {
+            return landmarkRoutes;
+        }
+        
+        boolean[] isLandmark = new boolean[graph.size()];
         for (int landmarkIndex : landmarkIndices) {
-            String landmarkLocation = locations[landmarkIndex];
-            
-            try {
-                // Route: Start -> Landmark -> End
-                Route routeViaLandmark = generateRouteViaLandmark(adjacencyMatrix, 
-                                                                startLocation, endLocation, 
-                                                                landmarkLocation, maxDetourDistance);
-                if (routeViaLandmark != null) {
-                    landmarkRoutes.add(routeViaLandmark);
-                }
-            } catch (Exception e) {
-                System.out.println("Error generating route via " + landmarkLocation + ": " + e.getMessage());
-            }
+            isLandmark[landmarkIndex] = true;
         }
         
-        // Sort routes by distance and return top 3
-        if (!landmarkRoutes.isEmpty()) {
-            landmarkRoutes.sort((r1, r2) -> Double.compare(r1.distance, r2.distance));
-            
-            // Return at most 3 routes
-            int maxRoutes = Math.min(3, landmarkRoutes.size());
-            return new ArrayList<>(landmarkRoutes.subList(0, maxRoutes));
+        // Corridor order is detour order: the first 3 matching landmarks are the best
+        for (int location : corridor.getLocations()) {
+            if (Thread.currentThread().isInterrupted()) break; // query deadline passed
+            if (!isLandmark[location]) continue;
+            Route routeViaLandmark = buildRouteViaLandmark(graph, corridor, location);
+            if (routeViaLandmark != null) {
+                landmarkRoutes.add(routeViaLandmark);
+                if (landmarkRoutes.size() == 3) break;
+            }
         }
         
         return landmarkRoutes;
     }
     
     /**
-     * Find all location indices that match the landmark criteria using binary search
-     * @param locations Array of all location names
-     * @param landmark Landmark keyword to search for
-     * @return List of indices of matching locations
+     * Locations that can be passed on the way from start to end for at most the given extra distance
+     * @param graph Campus graph
+     * @param startLocation Starting location
+     * @param endLocation Destination location
+     * @param maxDetourDistance Maximum additional distance over the shortest route
+     * @return Location names, smallest detour first (start and end included), empty if not found
      */
-    private static List<Integer> findLandmarkLocations(String[] locations, String landmark) {
-        List<Integer> indices = new ArrayList<>();
-        String searchTerm = landmark.toLowerCase();
+    public static List<String> findLocationsOnTheWay(CampusGraph graph, String startLocation, String endLocation,
+                                                     double maxDetourDistance) {
+        List<String> onTheWay = new ArrayList<>();
         
-        // Create sorted array for binary search
-        LocationIndex[] sortedLocations = new LocationIndex[locations.length];
-        for (int i = 0; i < locations.length; i++) {
-            sortedLocations[i] = new LocationIndex(i, locations[i].toLowerCase());
+        if (graph == null) {
+            return onTheWay;
         }
-        Arrays.sort(sortedLocations, (a, b) -> a.name.compareTo(b.name));
         
-        // Binary search for exact matches first
-        for (LocationIndex loc : sortedLocations) {
-            if (loc.name.contains(searchTerm)) {
-                indices.add(loc.index);
-            }
+        String[] locations = graph.getLocations();
+        int[] endpoints = FloydWarshallAlgorithm.findLocationIndices(locations, startLocation, endLocation);
+        if (endpoints == null) {
+            return onTheWay;
         }
         
-        // If no exact matches, try partial matches
-        if (indices.isEmpty()) {
-            indices = findPartialMatches(locations, searchTerm);
+        DetourCorridor corridor = DetourCorridor.search(graph, endpoints[0], endpoints[1], maxDetourDistance);
+        for (int location : corridor.getLocations()) {
+            onTheWay.add(locations[location]);
         }
-        
-        return indices;
+        return onTheWay;
     }
     
     /**
-     * Find partial matches using linear search
+     * Search for a route that visits one location of each landmark category, e.g.
+     * hall -> any ATM -> any dining spot -> library
+     * @param adjacencyMatrix The distance matrix between locations
+     * @param startLocation Starting location
+     * @param endLocation Destination location
+     * @param categories Landmark categories (or names) to stop at
+     * @param fixedOrder true to keep the given order, false to find the best order
+     * @return List holding the best errand route, empty if some category cannot be visited
      */
-    private static List<Integer> findPartialMatches(String[] locations, String searchTerm) {
-        List<Integer> indices = new ArrayList<>();
-        
-        for (int i = 0; i < locations.length; i++) {
-            String location = locations[i].toLowerCase();
-            if (isPartialMatch(location, searchTerm)) {
-                indices.add(i);
-            }
+    public static List<Route> searchRoutesWithCategories(List<String[]> adjacencyMatrix, 
+                                                        String startLocation, String endLocation,
+                                                        List<String> categories, boolean fixedOrder) {
+        if (adjacencyMatrix == null || adjacencyMatrix.isEmpty()) {
+            return new ArrayList<>();
         }
         
-        return indices;
+        return searchRoutesWithCategories(CampusGraph.fromAdjacencyMatrix(adjacencyMatrix), 
+                                          startLocation, endLocation, categories, fixedOrder);
     }
     
-    /**
-     * Check if location is a partial match for the search term
-     */
-    private static boolean isPartialMatch(String location, String searchTerm) {
-        // Check for various landmark categories
-        String[] bankKeywords = {"bank", "atm", "gcb", "financial"};
-        String[] hospitalKeywords = {"hospital", "clinic", "health", "medical"};
-        String[] libraryKeywords = {"library", "balme", "reading"};
-        String[] sportsKeywords = {"sports", "stadium", "field", "court", "pool", "gym"};
-        String[] diningKeywords = {"canteen", "dining", "restaurant", "food", "market"};
-        String[] residenceKeywords = {"hall", "hostel", "residence", "accommodation"};
-        String[] academicKeywords = {"department", "school", "faculty", "college", "institute"};
-        
-        if (searchTerm.contains("bank")) {
-            return containsAny(location, bankKeywords);
-        } else if (searchTerm.contains("hospital") || searchTerm.contains("medical")) {
-            return containsAny(location, hospitalKeywords);
-        } else if (searchTerm.contains("library")) {
-            return containsAny(location, libraryKeywords);
-        } else if (searchTerm.contains("sports") || searchTerm.contains("gym") || searchTerm.contains("stadium")) {
-            return containsAny(location, sportsKeywords);
-        } else if (searchTerm.contains("food") || searchTerm.contains("dining") || searchTerm.contains("canteen")) {
-            return containsAny(location, diningKeywords);
-        } else if (searchTerm.contains("hall") || searchTerm.contains("hostel") || searchTerm.contains("residence")) {
-            return containsAny(location, residenceKeywords);
-        } else if (searchTerm.contains("department") || searchTerm.contains("school") || searchTerm.contains("academic")) {
-            return containsAny(location, academicKeywords);
-        } else {
-            return location.contains(searchTerm);
+    public static List<Route> searchRoutesWithCategories(CampusGraph graph, String startLocation, String endLocation,
+                                                        List<String> categories, boolean fixedOrder) {
+        List<Route> errandRoutes = new ArrayList<>();
+        Route route = ErrandRouter.findErrandRoute(graph, startLocation, endLocation, categories, fixedOrder);
+        if (route != null) {
+            errandRoutes.add(route);
         }
+        return errandRoutes;
     }
     
     /**
-     * Check if location contains any of the keywords
+     * Join the corridor's tree paths start -> landmark and landmark -> end into one route
      */
-    private static boolean containsAny(String location, String[] keywords) {
-        for (String keyword : keywords) {
-            if (location.contains(keyword)) {
-                return true;
-            }
+    private static Route buildRouteViaLandmark(CampusGraph graph, DetourCorridor corridor, int landmark) {
+        int[] path = corridor.pathThrough(landmark);
+        if (path == null || path.length < 2) {
+            return null; // start, landmark and end are the same place
         }
-        return false;
-    }
-    
-    /**
-     * Generate a route that passes through a specific landmark
-     */
-    private static Route generateRouteViaLandmark(List<String[]> adjacencyMatrix, 
-                                                String startLocation, String endLocation, 
-                                                String landmarkLocation, double maxDetourDistance) {
-        
-        // Get direct route distance for comparison
-        double directDistance = getDirectDistance(adjacencyMatrix, startLocation, endLocation);
-        if (directDistance < 0) return null;
         
-        // Calculate route via landmark
-        double distanceToLandmark = getDirectDistance(adjacencyMatrix, startLocation, landmarkLocation);
-        double distanceFromLandmark = getDirectDistance(adjacencyMatrix, landmarkLocation, endLocation);
-        
-        if (distanceToLandmark < 0 || distanceFromLandmark < 0) return null;
-        
-        double totalDistance = distanceToLandmark + distanceFromLandmark;
-        double detourDistance = totalDistance - directDistance;
-        
-        // Check if detour is acceptable
-        if (detourDistance > maxDetourDistance) {
-            return null;
+        double[] segments = new double[path.length - 1];
+        for (int i = 1; i < path.length; i++) {
+            segments[i - 1] = graph.getEdgeWeight(path[i - 1], path[i]);
         }
-        
-        // Build route
-        StringBuilder routeString = new StringBuilder();
-        routeString.append(startLocation.replace(" Legon", ""))
-                  .append(" => ")
-                  .append(landmarkLocation.replace(" Legon", ""))
-                  .append(" => ")
-                  .append(endLocation.replace(" Legon", ""));
-        
-        Map<String, Double> routeSegments = new LinkedHashMap<>();
-        routeSegments.put(landmarkLocation.replace(" Legon", ""), distanceToLandmark);
-        routeSegments.put(endLocation.replace(" Legon", ""), distanceFromLandmark);
-        
-        double[] routeDetails = ReadCSV.distance_time(routeSegments);
-        return new Route(routeString, routeDetails[0], routeDetails[1]);
+        return ReadCSV.buildPathRoute(graph.getLocations(), path, segments);
     }
     
     /**
-     * Get direct distance between two locations
+     * Find all location indices that match the landmark criteria:
+     * names containing the landmark text first, otherwise every member of its category
+     * @param locations Array of all location names
+     * @param landmark Landmark keyword to search for
+     * @return Indices of matching locations
      */
-    private static double getDirectDistance(List<String[]> adjacencyMatrix, String from, String to) {
-        String[] locations = adjacencyMatrix.get(0);
-        
-        int fromIndex = -1, toIndex = -1;
-        for (int i = 0; i < locations.length; i++) {
-            if (locations[i].contains(from)) fromIndex = i;
-            if (locations[i].contains(to)) toIndex = i;
-        }
-        
-        if (fromIndex == -1 || toIndex == -1) return -1;
-        
-        try {
-            return Double.parseDouble(adjacencyMatrix.get(fromIndex)[toIndex]);
-        } catch (NumberFormatException e) {
-            return -1;
-        }
+    private static int[] findLandmarkLocations(String[] locations, String landmark) {
+        return LandmarkCategoryIndex.forLocations(locations).search(landmark);
     }
     
     /**
@@ -235,26 +190,20 @@ public class LandmarkSearch {
         
         String[] locations = adjacencyMatrix.get(0);
         
-        // Find location index
-        int locationIndex = -1;
-        for (int i = 0; i < locations.length; i++) {
-            if (locations[i].contains(location)) {
-                locationIndex = i;
-                break;
-            }
-        }
+        int locationIndex = LocationSearchEngine.resolve(locations, location);
         
         if (locationIndex == -1) return nearbyLandmarks;
         
         String[] distanceRow = adjacencyMatrix.get(locationIndex);
+        IntPredicate matchesType = 
+            LandmarkCategoryIndex.forLocations(locations).typeFilter(landmarkType);
         
         for (int i = 0; i < locations.length; i++) {
             if (i != locationIndex) {
                 try {
                     double distance = Double.parseDouble(distanceRow[i]);
                     if (distance > 0 && distance <= maxDistance) {
-                        String locationName = locations[i].toLowerCase();
-                        if (isLandmarkType(locationName, landmarkType)) {
+                        if (matchesType.test(i)) {
                             nearbyLandmarks.add(locations[i]);
                         }
                     }
@@ -268,43 +217,36 @@ public class LandmarkSearch {
     }
     
     /**
-     * Check if a location matches the specified landmark type
+     * Nearby landmark search answered from a range index over shortest-path distances.
+     * Only the destinations within range are visited, nearest first.
+     * @param index Range index built over the campus distance table
+     * @param locations Location names, aligned with the index
+     * @param location Starting location
+     * @param maxDistance Maximum walking distance in km
+     * @param landmarkType Type of landmark to search for
+     * @return List of nearby landmarks, nearest first
      */
-    private static boolean isLandmarkType(String location, String landmarkType) {
-        String type = landmarkType.toLowerCase();
+    public static List<String> findNearbyLandmarks(DistanceRangeIndex index, String[] locations, String location,
+                                                  double maxDistance, String landmarkType) {
+        List<String> nearbyLandmarks = new ArrayList<>();
         
-        switch (type) {
-            case "bank":
-                return location.contains("bank") || location.contains("atm") || location.contains("gcb");
-            case "hospital":
-                return location.contains("hospital") || location.contains("clinic") || location.contains("medical");
-            case "library":
-                return location.contains("library") || location.contains("balme");
-            case "sports":
-                return location.contains("sports") || location.contains("stadium") || location.contains("field") || 
-                       location.contains("court") || location.contains("pool");
-            case "dining":
-                return location.contains("canteen") || location.contains("dining") || location.contains("market");
-            case "residence":
-                return location.contains("hall") || location.contains("hostel");
-            case "academic":
-                return location.contains("department") || location.contains("school") || location.contains("faculty");
-            default:
-                return location.contains(type);
+        if (index == null || locations == null) {
+            return nearbyLandmarks;
         }
-    }
-    
-    /**
-     * Helper class for binary search operations
-     */
-    private static class LocationIndex {
-        int index;
-        String name;
         
-        LocationIndex(int index, String name) {
-            this.index = index;
-            this.name = name;
+        int locationIndex = LocationSearchEngine.resolve(locations, location);
+        
+        if (locationIndex == -1) return nearbyLandmarks;
+        
+        IntPredicate matchesType = 
+            LandmarkCategoryIndex.forLocations(locations).typeFilter(landmarkType);
+        for (int i : index.withinDistance(locationIndex, maxDistance)) {
+            if (matchesType.test(i)) {
+                nearbyLandmarks.add(locations[i]);
+            }
         }
+        
+        return nearbyLandmarks;
     }
     
     /**
@@ -312,7 +254,11 @@ public class LandmarkSearch {
      * @return List of landmark categories that can be searched
      */
     public static List<String> getAvailableLandmarkCategories() {
-        return Arrays.asList("bank", "hospital", "library", "sports", "dining", "residence", "academic");
+        List<String> categories = new ArrayList<>();
+        for (LandmarkCategoryIndex.CategoryRule rule : LandmarkCategoryIndex.DEFAULT_RULES) {
+            categories.add(rule.name);
+        }
+        return categories;
     }
     
     /**
@@ -0,0 +1,182 @@
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Distance oracle that computes shortest-path rows on demand instead of the full n x n table.
+ * A source's row is built with Dijkstra on its first query and kept in an LRU cache bounded by a
+ * memory budget, so memory follows the origins actually queried (a kiosk's own location,
+ * a few popular starting points). Once enough distinct sources have been requested, the full
+ * all-pairs table is computed on a background thread and takes over every lookup.
+ *
+ * Finished rows are published through an AtomicReferenceArray, so cache hits read without
+ * locking; only a miss takes the monitor to compute and insert a row. Eviction is CLOCK
+ * (second chance): hits just set a reference bit, which approximates LRU without a lock.
+ */
+public class LazyDistanceOracle implements DistanceOracle, CampusGraph.ChangeListener {
+
+    // Default row budget: a small slice of the heap
+    private static final long DEFAULT_MEMORY_FRACTION = 32;
+
+    private final CampusGraph graph;
+    private final int n;
+    private final int maxCachedRows;
+    private final int upgradeThreshold;
+    private final IndexedMinHeap heap;
+    private final AtomicReferenceArray<double[]> rows; // per source, null when not cached
+    private final boolean[] referenced;                // CLOCK bits, set by hits without locking
+    private final int[] cachedSources;                 // CLOCK ring of cached sources
+    private int cachedCount;
+    private int clockHand;
+
+    private int rowsComputed;
+    private volatile ShortestPathTable fullTable;
+    private Thread upgradeThread;
+
+    /**
+     * Row budget of 1/32 of the maximum heap; upgrade once half the sources were requested
+     */
+    public LazyDistanceOracle(CampusGraph graph) {
+        this(graph, Runtime.getRuntime().maxMemory() / DEFAULT_MEMORY_FRACTION, Math.max(1, graph.size() / 2));
+    }
+
+    /**
+     * @param graph Campus graph; the cache is dropped whenever it changes
+     * @param memoryBudgetBytes Maximum bytes of cached distance rows (at least one row is kept)
+     * @param upgradeThreshold Distinct row computations after which the full table is built in the background
+     */
+    public LazyDistanceOracle(CampusGraph graph, long memoryBudgetBytes, int upgradeThreshold) {
+        this.graph = graph;
+        this.n = graph.size();
+        long rowBytes = Math.max(1L, (long) n * Double.BYTES);
+        this.maxCachedRows = (int) Math.max(1L, Math.min(n, memoryBudgetBytes / rowBytes));
+        this.upgradeThreshold = upgradeThreshold;
+        this.heap = new IndexedMinHeap(n);
+        this.rows = new AtomicReferenceArray<>(n);
+        this.referenced = new boolean[n];
+        this.cachedSources = new int[maxCachedRows];
+        graph.addChangeListener(this);
+    }
+
+    @Override
+    public double getDistance(int from, int to) {
+        ShortestPathTable table = fullTable;
+        if (table != null) {
+            return table.getDistance(from, to);
+        }
+        return getRow(from)[to];
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Shortest distances from one source to every location, computed on first use
+     */
+    public double[] getRow(int source) {
+        double[] row = rows.get(source);
+        if (row != null) {
+            referenced[source] = true;
+            return row;
+        }
+        return computeRow(source);
+    }
+
+    private synchronized double[] computeRow(int source) {
+        double[] row = rows.get(source);
+        if (row != null) {
+            return row; // another thread computed it while we waited
+        }
+
+        row = new double[n];
+        GraphSearch.shortestPathRow(graph, source, row, new int[n], 0, heap);
+        if (cachedCount < maxCachedRows) {
+            cachedSources[cachedCount++] = source;
+        } else {
+            // Second chance: skip and clear recently used rows, evict the first one not used since
+            while (referenced[cachedSources[clockHand]]) {
+                referenced[cachedSources[clockHand]] = false;
+                clockHand = (clockHand + 1) % maxCachedRows;
+            }
+            rows.set(cachedSources[clockHand], null);
+            cachedSources[clockHand] = source;
+            clockHand = (clockHand + 1) % maxCachedRows;
+        }
+        referenced[source] = true; // a fresh row gets one sweep of grace
+        rows.set(source, row);
+
+        if (++rowsComputed >= upgradeThreshold && fullTable == null && upgradeThread == null) {
+            startUpgrade();
+        }
+        return row;
+    }
+
+    private void clearRows() {
+        for (int i = 0; i < cachedCount; i++) {
+            rows.set(cachedSources[i], null);
+        }
+        cachedCount = 0;
+        clockHand = 0;
+    }
+
+    private void startUpgrade() {
+        long version = graph.getVersion();
+        upgradeThread = new Thread(() -> {
+            ShortestPathTable table = AllPairsShortestPaths.compute(graph);
+            synchronized (this) {
+                if (graph.getVersion() == version && upgradeThread == Thread.currentThread()) {
+                    fullTable = table;
+                    clearRows(); // the full table answers everything now
+                }
+            }
+        }, "apsp-upgrade");
+        upgradeThread.setDaemon(true);
+        upgradeThread.start();
+    }
+
+    /**
+     * Wait for a background upgrade that has already started
+     * @return true if the full table is in use
+     */
+    public boolean awaitFullTable(long timeoutMillis) throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            thread = upgradeThread;
+        }
+        if (thread != null) {
+            thread.join(timeoutMillis);
+        }
+        return fullTable != null;
+    }
+
+    public boolean isFullTableReady() {
+        return fullTable != null;
+    }
+
+    public synchronized int getCachedRowCount() {
+        return cachedCount;
+    }
+
+    public int getMaxCachedRows() {
+        return maxCachedRows;
+    }
+
+    /**
+     * Any walkway change makes cached rows stale: start over from an empty cache
+     */
+    @Override
+    public synchronized void edgeWeightChanged(CampusGraph changedGraph, int from, int to,
+                                               double oldWeight, double newWeight) {
+        clearRows();
+        rowsComputed = 0;
+        fullTable = null;
+        upgradeThread = null; // an upgrade still running will see the new version and discard its result
+    }
+
+    /**
+     * Stop following graph changes
+     */
+    public void detach() {
+        graph.removeChangeListener(this);
+    }
+}
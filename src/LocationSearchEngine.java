@@ -0,0 +1,480 @@
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * Typo-tolerant location name search used wherever a start or end name is resolved.
+ * Handles kiosk queries such as "balme libary", "cs dept" or "legon hall":
+ * - names and queries are normalized (case, accents, punctuation, the trailing "Legon"),
+ * - abbreviations are expanded through an alias table (cs -> computer science, dept -> department),
+ * - every query word is matched exactly, as a prefix, or within a small edit distance via a BK-tree
+ *   over the name vocabulary,
+ * - a trigram inverted index scores overall similarity and catches names the words miss.
+ * Results are ranked; an exact name (with or without "Legon") always wins.
+ */
+public class LocationSearchEngine {
+
+    // Below this score a query is treated as not matching any location
+    public static final double MIN_SCORE = 0.45;
+
+    private static final Map<String, String> DEFAULT_ALIASES = createDefaultAliases();
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList("of", "the", "and", "a", "at", "to"));
+
+    // Engines keyed by the location names, so a reread CSV reuses the engine built for the same names.
+    // Least recently used engines beyond MAX_SHARED_ENGINES are dropped.
+    private static final int MAX_SHARED_ENGINES = 4;
+    private static final Map<List<String>, LocationSearchEngine> ENGINES =
+        new LinkedHashMap<List<String>, LocationSearchEngine>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<String>, LocationSearchEngine> eldest) {
+                return size() > MAX_SHARED_ENGINES;
+            }
+        };
+
+    private final String[] names;
+    private final String[] fullKeys;     // normalized full names
+    private final String[] coreKeys;     // normalized names without the trailing "legon"
+    private final int[] coreWordCounts;  // non-stop words per core name
+    private final Map<String, String> aliases;
+    private final Map<String, Integer> exactNames; // normalized full and core name -> first index
+
+    // Word index over core names: sorted vocabulary with a posting list per word
+    private final String[] vocabulary;
+    private final int[][] wordPostings;
+    private final BKTree wordTree;
+
+    // Trigram index over core names
+    private final Map<String, int[]> trigramPostings;
+    private final int[] trigramCounts;
+
+    /**
+     * One scored search result
+     */
+    public static class Match {
+        public final int index;
+        public final String name;
+        public final double score;
+
+        Match(int index, String name, double score) {
+            this.index = index;
+            this.name = name;
+            this.score = score;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%.2f)", name, score);
+        }
+    }
+
+    public LocationSearchEngine(String[] locations) {
+        this(locations, DEFAULT_ALIASES);
+    }
+
+    /**
+     * @param locations Location names; index i of a result is an index into this array
+     * @param aliases Query word -> replacement words, e.g. "dept" -> "department"
+     */
+    public LocationSearchEngine(String[] locations, Map<String, String> aliases) {
+        this.names = locations.clone();
+        this.aliases = new HashMap<>();
+        for (Map.Entry<String, String> alias : aliases.entrySet()) {
+            this.aliases.put(normalize(alias.getKey()), normalize(alias.getValue()));
+        }
+
+        int n = names.length;
+        fullKeys = new String[n];
+        coreKeys = new String[n];
+        coreWordCounts = new int[n];
+        TreeMap<String, List<Integer>> words = new TreeMap<>();
+        Map<String, List<Integer>> trigrams = new HashMap<>();
+        trigramCounts = new int[n];
+        exactNames = new HashMap<>();
+
+        for (int i = 0; i < n; i++) {
+            fullKeys[i] = normalize(names[i]);
+            coreKeys[i] = stripCampusSuffix(fullKeys[i]);
+            exactNames.putIfAbsent(fullKeys[i], i);
+            exactNames.putIfAbsent(coreKeys[i], i);
+
+            Set<String> nameWords = new LinkedHashSet<>(Arrays.asList(split(coreKeys[i])));
+            for (String word : nameWords) {
+                if (!STOP_WORDS.contains(word)) {
+                    coreWordCounts[i]++;
+                }
+                words.computeIfAbsent(word, w -> new ArrayList<>()).add(i);
+            }
+
+            Set<String> nameTrigrams = trigrams(coreKeys[i]);
+            trigramCounts[i] = nameTrigrams.size();
+            for (String trigram : nameTrigrams) {
+                trigrams.computeIfAbsent(trigram, t -> new ArrayList<>()).add(i);
+            }
+        }
+
+        vocabulary = words.keySet().toArray(new String[0]);
+        wordPostings = new int[vocabulary.length][];
+        wordTree = new BKTree();
+        for (int w = 0; w < vocabulary.length; w++) {
+            wordPostings[w] = toArray(words.get(vocabulary[w]));
+            wordTree.add(vocabulary[w], w);
+        }
+
+        trigramPostings = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : trigrams.entrySet()) {
+            trigramPostings.put(entry.getKey(), toArray(entry.getValue()));
+        }
+    }
+
+    /**
+     * Shared engine for a list of location names, built the first time those names are seen
+     */
+    public static LocationSearchEngine forLocations(String[] locations) {
+        synchronized (ENGINES) {
+            LocationSearchEngine engine = ENGINES.get(Arrays.asList(locations));
+            if (engine == null) {
+                engine = new LocationSearchEngine(locations);
+                // Key on the engine's own copy so later edits to the caller's array cannot corrupt the map
+                ENGINES.put(Collections.unmodifiableList(Arrays.asList(engine.names)), engine);
+            }
+            return engine;
+        }
+    }
+
+    /**
+     * Resolve a typed name to a location index
+     * @return Index of the best match, or -1 if nothing matches well enough
+     */
+    public static int resolve(String[] locations, String query) {
+        if (locations == null || query == null) {
+            return -1;
+        }
+        return forLocations(locations).resolve(query);
+    }
+
+    public int resolve(String query) {
+        Integer exact = exactNames.get(normalize(query));
+        if (exact != null) {
+            return exact; // full names from the GUI and the data files skip ranking
+        }
+        List<Match> matches = search(query, 1);
+        return matches.isEmpty() ? -1 : matches.get(0).index;
+    }
+
+    /**
+     * Ranked matches for a query
+     * @param limit Maximum number of results
+     * @return Matches scoring at least MIN_SCORE, best first
+     */
+    public List<Match> search(String query, int limit) {
+        List<Match> results = new ArrayList<>();
+        String key = stripCampusSuffix(normalize(query));
+        if (key.isEmpty() || limit <= 0) {
+            return results;
+        }
+
+        int n = names.length;
+        double[] coverage = new double[n];
+        int[] matchedWords = new int[n];
+        boolean[] candidate = new boolean[n];
+
+        // Word evidence: each query word contributes its best match inside each name
+        List<String> queryWords = expandAliases(split(key));
+        double[] best = new double[n];
+        int[] touched = new int[n];
+        for (String queryWord : queryWords) {
+            int touchedCount = 0;
+            for (int[] wordMatch : matchWord(queryWord)) {
+                double weight = wordMatch[1] / 100.0;
+                for (int i : wordPostings[wordMatch[0]]) {
+                    if (best[i] == 0.0) {
+                        touched[touchedCount++] = i;
+                    }
+                    if (weight > best[i]) {
+                        best[i] = weight;
+                    }
+                }
+            }
+            for (int t = 0; t < touchedCount; t++) {
+                int i = touched[t];
+                coverage[i] += best[i];
+                matchedWords[i]++;
+                candidate[i] = true;
+                best[i] = 0.0;
+            }
+        }
+
+        // Trigram evidence: overall similarity of the whole string
+        Set<String> queryTrigrams = trigrams(key);
+        int[] shared = new int[n];
+        for (String trigram : queryTrigrams) {
+            int[] postings = trigramPostings.get(trigram);
+            if (postings == null) continue;
+            for (int i : postings) {
+                shared[i]++;
+            }
+        }
+
+        String queryFull = normalize(query);
+        for (int i = 0; i < n; i++) {
+            double dice = (queryTrigrams.isEmpty() || trigramCounts[i] == 0) ? 0.0
+                : 2.0 * shared[i] / (queryTrigrams.size() + trigramCounts[i]);
+            if (!candidate[i] && dice < 0.35) continue;
+
+            double score;
+            if (coreKeys[i].equals(key) || fullKeys[i].equals(queryFull)) {
+                score = 2.0; // exact name
+            } else {
+                double wordCoverage = queryWords.isEmpty() ? dice : coverage[i] / queryWords.size();
+                double precision = Math.min(1.0, matchedWords[i] / (double) Math.max(1, coreWordCounts[i]));
+                score = 0.7 * wordCoverage + 0.2 * precision + 0.1 * dice;
+                if (coreKeys[i].contains(key)) {
+                    score += 0.1; // the typed text appears verbatim
+                }
+            }
+            if (score >= MIN_SCORE) {
+                insertRanked(results, new Match(i, names[i], score), limit);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Keep the best limit matches in rank order: best score first, then the shorter name.
+     * Matches arrive in index order, so a tie goes after the matches already kept.
+     */
+    private void insertRanked(List<Match> ranked, Match match, int limit) {
+        int position = ranked.size();
+        while (position > 0 && ranksBefore(match, ranked.get(position - 1))) {
+            position--;
+        }
+        if (position >= limit) {
+            return;
+        }
+        ranked.add(position, match);
+        if (ranked.size() > limit) {
+            ranked.remove(ranked.size() - 1);
+        }
+    }
+
+    private boolean ranksBefore(Match a, Match b) {
+        if (a.score != b.score) {
+            return a.score > b.score;
+        }
+        return coreKeys[a.index].length() < coreKeys[b.index].length();
+    }
+
+    /**
+     * Vocabulary words matching one query word, as {word id, weight in percent}:
+     * exact 100, prefix 90, edit distance d scores 100 - 20d
+     */
+    private List<int[]> matchWord(String queryWord) {
+        Map<Integer, Integer> weights = new HashMap<>();
+
+        int exact = Arrays.binarySearch(vocabulary, queryWord);
+        if (exact >= 0) {
+            weights.put(exact, 100);
+        }
+
+        if (queryWord.length() >= 2) {
+            int from = exact >= 0 ? exact + 1 : -exact - 1;
+            for (int w = from; w < vocabulary.length && vocabulary[w].startsWith(queryWord); w++) {
+                weights.merge(w, 90, Math::max);
+            }
+        }
+
+        int maxEdits = queryWord.length() <= 3 ? 0 : (queryWord.length() <= 6 ? 1 : 2);
+        if (maxEdits > 0) {
+            for (int[] near : wordTree.search(queryWord, maxEdits)) {
+                weights.merge(near[0], 100 - 20 * near[1], Math::max);
+            }
+        }
+
+        List<int[]> matches = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : weights.entrySet()) {
+            matches.add(new int[]{entry.getKey(), entry.getValue()});
+        }
+        return matches;
+    }
+
+    private List<String> expandAliases(String[] words) {
+        List<String> expanded = new ArrayList<>();
+        for (String word : words) {
+            String replacement = aliases.get(word);
+            for (String part : split(replacement != null ? replacement : word)) {
+                if (!STOP_WORDS.contains(part)) {
+                    expanded.add(part);
+                }
+            }
+        }
+        return expanded;
+    }
+
+    /**
+     * Lowercase, strip accents and byte-order marks, and reduce punctuation to single spaces
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int c = 0; c < decomposed.length(); c++) {
+            char ch = decomposed.charAt(c);
+            if (Character.getType(ch) == Character.NON_SPACING_MARK) continue;
+            if (Character.isLetterOrDigit(ch)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(Character.toLowerCase(ch));
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static String stripCampusSuffix(String key) {
+        return (key.endsWith(" legon") && key.length() > 6) ? key.substring(0, key.length() - 6) : key;
+    }
+
+    private static String[] split(String key) {
+        return key.isEmpty() ? new String[0] : key.split(" ");
+    }
+
+    private static Set<String> trigrams(String key) {
+        Set<String> trigrams = new HashSet<>();
+        String padded = "  " + key + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static Map<String, String> createDefaultAliases() {
+        Map<String, String> aliases = new HashMap<>();
+        aliases.put("cs", "computer science");
+        aliases.put("dept", "department");
+        aliases.put("dpt", "department");
+        aliases.put("lib", "library");
+        aliases.put("sch", "school");
+        aliases.put("eng", "engineering");
+        aliases.put("engr", "engineering");
+        aliases.put("hosp", "hospital");
+        aliases.put("fac", "faculty");
+        aliases.put("inst", "institute");
+        aliases.put("coll", "college");
+        aliases.put("univ", "university");
+        aliases.put("uni", "university");
+        aliases.put("ug", "university of ghana");
+        aliases.put("ugbs", "university of ghana business school");
+        aliases.put("intl", "international");
+        aliases.put("ish", "international student hostel");
+        aliases.put("econ", "economics");
+        aliases.put("geog", "geography");
+        aliases.put("admin", "administration");
+        return aliases;
+    }
+
+    /**
+     * Levenshtein distance, giving up once it must exceed the limit
+     */
+    static int editDistance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Burkhard-Keller tree over the vocabulary: a node's children are keyed by their edit
+     * distance to it, so the triangle inequality prunes most subtrees during a search
+     */
+    private static class BKTree {
+        private static class Node {
+            final String word;
+            final int id;
+            final Map<Integer, Node> children = new HashMap<>();
+
+            Node(String word, int id) {
+                this.word = word;
+                this.id = id;
+            }
+        }
+
+        private Node root;
+
+        void add(String word, int id) {
+            if (root == null) {
+                root = new Node(word, id);
+                return;
+            }
+            Node node = root;
+            while (true) {
+                int distance = editDistance(word, node.word, Integer.MAX_VALUE - 1);
+                if (distance == 0) return;
+                Node child = node.children.get(distance);
+                if (child == null) {
+                    node.children.put(distance, new Node(word, id));
+                    return;
+                }
+                node = child;
+            }
+        }
+
+        /**
+         * @return {word id, distance} for every word within maxDistance of the query
+         */
+        List<int[]> search(String query, int maxDistance) {
+            List<int[]> found = new ArrayList<>();
+            if (root == null) {
+                return found;
+            }
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Node node = pending.pop();
+                int distance = editDistance(query, node.word, Integer.MAX_VALUE - 1);
+                if (distance <= maxDistance) {
+                    found.add(new int[]{node.id, distance});
+                }
+                for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                    int edge = child.getKey();
+                    if (edge >= distance - maxDistance && edge <= distance + maxDistance) {
+                        pending.push(child.getValue());
+                    }
+                }
+            }
+            return found;
+        }
+    }
+}
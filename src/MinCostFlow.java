@@ -0,0 +1,365 @@
+import java.util.*;
+
+/**
+ * Congestion-aware mass movement: min-cost flow over the campus walkways with per-walkway capacities.
+ *
+ * "Route N students from halls to venues without any walkway carrying more than its capacity"
+ * is solved by successive shortest paths. A super source feeds every hall with its students, every
+ * venue drains its seats into a super sink, and each round augments along the cheapest residual
+ * path found by Dijkstra on potential-reduced costs (Johnson), so reverse arcs never need
+ * Bellman-Ford. The result is decomposed back into hall -> venue paths with their routes.
+ *
+ * Capacities are per walking direction, in students per changeover.
+ */
+public class MinCostFlow {
+
+    // Reduced costs this far below zero are rounding noise from the double potentials
+    private static final double EPSILON = 1e-9;
+
+    private final CampusGraph graph;
+    private final int n;
+    private final int[] capacity; // row-major n x n, like CampusGraph's weights
+
+    /**
+     * @param graph Campus graph; walkway lengths are read at solve time
+     * @param defaultCapacity Capacity of every walkway until set otherwise
+     */
+    public MinCostFlow(CampusGraph graph, int defaultCapacity) {
+        this.graph = graph;
+        this.n = graph.size();
+        this.capacity = new int[n * n];
+        Arrays.fill(capacity, Math.max(0, defaultCapacity));
+    }
+
+    /**
+     * Limit the students one directed walkway can carry (0 closes it for the flow)
+     */
+    public void setCapacity(int from, int to, int students) {
+        capacity[from * n + to] = Math.max(0, students);
+    }
+
+    /**
+     * Limit a walkway by location names, in both directions
+     * @return false if either location is unknown
+     */
+    public boolean setCapacity(String from, String to, int students) {
+        int fromIndex = graph.indexOf(from);
+        int toIndex = graph.indexOf(to);
+        if (fromIndex == -1 || toIndex == -1) {
+            System.out.println("Location not found: " + (fromIndex == -1 ? from : to));
+            return false;
+        }
+        setCapacity(fromIndex, toIndex, students);
+        setCapacity(toIndex, fromIndex, students);
+        return true;
+    }
+
+    public int getCapacity(int from, int to) {
+        return capacity[from * n + to];
+    }
+
+    /**
+     * Routed flows, the walkway loads they produce and how many students could not be moved
+     */
+    public static class Result {
+        public final List<StudentFlowPlanner.Flow> flows = new ArrayList<>();
+        public int requestedStudents;
+        public int routedStudents;
+        public double totalStudentKm;
+        public int saturatedWalkways;
+        private final int n;
+        private final int[] walkwayFlow; // row-major n x n
+
+        Result(int n) {
+            this.n = n;
+            this.walkwayFlow = new int[n * n];
+        }
+
+        /**
+         * @return Students walking the directed walkway from -> to
+         */
+        public int getFlow(int from, int to) {
+            return walkwayFlow[from * n + to];
+        }
+
+        public int getUnroutedStudents() {
+            return requestedStudents - routedStudents;
+        }
+    }
+
+    /**
+     * Move students from halls to venues at minimum total walking distance within walkway capacities
+     * @param hallSupply Students leaving each hall, by location name
+     * @param venueSeats Seats at each venue, by location name
+     * @return Flows per hall/venue path, or null if a location name is unknown
+     */
+    public Result solve(Map<String, Integer> hallSupply, Map<String, Integer> venueSeats) {
+        int[] halls = new int[hallSupply.size()], supply = new int[hallSupply.size()];
+        int[] venues = new int[venueSeats.size()], seats = new int[venueSeats.size()];
+        if (!resolve(hallSupply, halls, supply) || !resolve(venueSeats, venues, seats)) {
+            return null;
+        }
+        return solve(halls, supply, venues, seats);
+    }
+
+    private boolean resolve(Map<String, Integer> amounts, int[] indices, int[] values) {
+        int k = 0;
+        for (Map.Entry<String, Integer> entry : amounts.entrySet()) {
+            indices[k] = graph.indexOf(entry.getKey());
+            values[k] = entry.getValue();
+            if (indices[k] == -1) {
+                System.out.println("Location not found: " + entry.getKey());
+                return false;
+            }
+            k++;
+        }
+        return true;
+    }
+
+    /**
+     * Index-based solve
+     * @param halls Hall location indices
+     * @param supply Students leaving each hall
+     * @param venues Venue location indices
+     * @param seats Seats at each venue
+     */
+    public Result solve(int[] halls, int[] supply, int[] venues, int[] seats) {
+        Residual network = new Residual(graph, capacity, halls, supply, venues, seats);
+        Result result = new Result(n);
+        for (int students : supply) {
+            result.requestedStudents += students;
+        }
+
+        network.augmentAll();
+        network.decompose(graph, result);
+        return result;
+    }
+
+    /**
+     * Residual network in arc arrays: arc a and its reverse a ^ 1 are stored side by side,
+     * and arcs leaving node v are arcList[arcOffsets[v] .. arcOffsets[v + 1]).
+     * Nodes 0..n-1 are locations, n is the super source and n + 1 the super sink.
+     */
+    private static class Residual {
+        final int nodes, source, sink, locations;
+        final int[] head;         // arc -> target node
+        final int[] residual;     // arc -> remaining capacity
+        final int[] original;     // arc -> capacity before solving (0 for reverse arcs)
+        final double[] cost;      // arc -> cost (negated on reverse arcs)
+        final int[] arcOffsets;
+        final int[] arcList;
+        int arcs;
+
+        Residual(CampusGraph graph, int[] capacity, int[] halls, int[] supply, int[] venues, int[] seats) {
+            locations = graph.size();
+            nodes = locations + 2;
+            source = locations;
+            sink = locations + 1;
+
+            int[] offsets = graph.getOutOffsets();
+            int[] targets = graph.getOutTargets();
+            double[] weights = graph.getOutWeights();
+            int maxArcs = 2 * (targets.length + halls.length + venues.length);
+            head = new int[maxArcs];
+            residual = new int[maxArcs];
+            original = new int[maxArcs];
+            cost = new double[maxArcs];
+            int[] tail = new int[maxArcs];
+
+            for (int u = 0; u < locations; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int students = capacity[u * locations + targets[e]];
+                    if (students > 0) {
+                        addArc(tail, u, targets[e], students, weights[e]);
+                    }
+                }
+            }
+            for (int h = 0; h < halls.length; h++) {
+                addArc(tail, source, halls[h], supply[h], 0.0);
+            }
+            for (int v = 0; v < venues.length; v++) {
+                addArc(tail, venues[v], sink, seats[v], 0.0);
+            }
+
+            arcOffsets = new int[nodes + 1];
+            for (int a = 0; a < arcs; a++) {
+                arcOffsets[tail[a] + 1]++;
+            }
+            for (int v = 0; v < nodes; v++) {
+                arcOffsets[v + 1] += arcOffsets[v];
+            }
+            arcList = new int[arcs];
+            int[] fill = Arrays.copyOf(arcOffsets, nodes);
+            for (int a = 0; a < arcs; a++) {
+                arcList[fill[tail[a]]++] = a;
+            }
+        }
+
+        private void addArc(int[] tail, int from, int to, int students, double arcCost) {
+            tail[arcs] = from;
+            head[arcs] = to;
+            residual[arcs] = students;
+            original[arcs] = students;
+            cost[arcs] = arcCost;
+            arcs++;
+            tail[arcs] = to;
+            head[arcs] = from;
+            cost[arcs] = -arcCost;
+            arcs++;
+        }
+
+        /**
+         * Successive shortest paths: Dijkstra on reduced costs, push the bottleneck, update potentials.
+         * Walkway lengths are non-negative, so all-zero potentials are valid to start.
+         */
+        void augmentAll() {
+            double[] potential = new double[nodes];
+            double[] distance = new double[nodes];
+            int[] parentArc = new int[nodes];
+            IndexedMinHeap heap = new IndexedMinHeap(nodes);
+
+            while (true) {
+                Arrays.fill(distance, CampusGraph.INFINITY);
+                Arrays.fill(parentArc, -1);
+                distance[source] = 0.0;
+                heap.clear();
+                heap.insertOrDecrease(source, 0.0);
+
+                while (!heap.isEmpty()) {
+                    int u = heap.pollMin();
+                    double du = distance[u];
+                    for (int k = arcOffsets[u]; k < arcOffsets[u + 1]; k++) {
+                        int a = arcList[k];
+                        if (residual[a] == 0) continue;
+                        int v = head[a];
+                        double reduced = Math.max(0.0, cost[a] + potential[u] - potential[v]);
+                        if (du + reduced < distance[v] - EPSILON) {
+                            distance[v] = du + reduced;
+                            parentArc[v] = a;
+                            heap.insertOrDecrease(v, distance[v]);
+                        }
+                    }
+                }
+
+                if (distance[sink] == CampusGraph.INFINITY) {
+                    return; // every reachable student is placed
+                }
+                for (int v = 0; v < nodes; v++) {
+                    if (distance[v] != CampusGraph.INFINITY) {
+                        potential[v] += distance[v];
+                    }
+                }
+
+                int push = Integer.MAX_VALUE;
+                for (int v = sink; v != source; v = head[parentArc[v] ^ 1]) {
+                    push = Math.min(push, residual[parentArc[v]]);
+                }
+                for (int v = sink; v != source; v = head[parentArc[v] ^ 1]) {
+                    residual[parentArc[v]] -= push;
+                    residual[parentArc[v] ^ 1] += push;
+                }
+            }
+        }
+
+        /**
+         * Split the arc flows into source -> hall -> ... -> venue -> sink paths. A zero-length
+         * cycle met on the way is cancelled rather than followed.
+         */
+        void decompose(CampusGraph graph, Result result) {
+            int[] flow = new int[arcs];
+            for (int a = 0; a < arcs; a += 2) {
+                flow[a] = original[a] - residual[a];
+                if (head[a] < locations && head[a ^ 1] < locations) {
+                    int from = head[a ^ 1], to = head[a];
+                    result.walkwayFlow[from * locations + to] = flow[a];
+                    if (flow[a] > 0 && residual[a] == 0) {
+                        result.saturatedWalkways++;
+                    }
+                }
+            }
+
+            int[] nextArc = Arrays.copyOf(arcOffsets, nodes); // per-node scan position
+            int[] pathArcs = new int[nodes];
+            int[] depth = new int[nodes];
+            Arrays.fill(depth, -1);
+
+            while (true) {
+                int length = 0;
+                int v = source;
+                depth[source] = 0;
+                while (v != sink) {
+                    int a = -1;
+                    while (nextArc[v] < arcOffsets[v + 1]) {
+                        int candidate = arcList[nextArc[v]];
+                        if ((candidate & 1) == 0 && flow[candidate] > 0) {
+                            a = candidate;
+                            break;
+                        }
+                        nextArc[v]++;
+                    }
+                    if (a == -1) break; // no flow leaves v (only possible at the source when done)
+
+                    int w = head[a];
+                    pathArcs[length++] = a;
+                    if (depth[w] != -1) {
+                        // Cycle w -> ... -> w: cancel it and continue from w
+                        int bottleneck = Integer.MAX_VALUE;
+                        for (int i = depth[w]; i < length; i++) {
+                            bottleneck = Math.min(bottleneck, flow[pathArcs[i]]);
+                        }
+                        for (int i = depth[w]; i < length; i++) {
+                            flow[pathArcs[i]] -= bottleneck;
+                            int from = head[pathArcs[i] ^ 1], to = head[pathArcs[i]];
+                            result.walkwayFlow[from * locations + to] -= bottleneck;
+                        }
+                        for (int i = depth[w] + 1; i < length; i++) {
+                            depth[head[pathArcs[i - 1]]] = -1;
+                        }
+                        length = depth[w];
+                        v = w;
+                        continue;
+                    }
+                    depth[w] = length;
+                    v = w;
+                }
+
+                for (int i = 0; i < length; i++) {
+                    depth[head[pathArcs[i]]] = -1;
+                }
+                if (v != sink) {
+                    break;
+                }
+
+                int students = Integer.MAX_VALUE;
+                for (int i = 0; i < length; i++) {
+                    students = Math.min(students, flow[pathArcs[i]]);
+                }
+                for (int i = 0; i < length; i++) {
+                    flow[pathArcs[i]] -= students;
+                }
+
+                // Path nodes between the super source and super sink
+                int[] path = new int[length - 1];
+                for (int i = 0; i < length - 1; i++) {
+                    path[i] = head[pathArcs[i]];
+                }
+                addFlow(graph, result, path, students);
+            }
+        }
+
+        private void addFlow(CampusGraph graph, Result result, int[] path, int students) {
+            String[] names = graph.getLocations();
+            double distance = 0.0;
+            double[] segments = new double[Math.max(0, path.length - 1)];
+            for (int i = 1; i < path.length; i++) {
+                segments[i - 1] = graph.getEdgeWeight(path[i - 1], path[i]);
+                distance += segments[i - 1];
+            }
+            Route route = (path.length >= 2) ? ReadCSV.buildPathRoute(names, path, segments) : null;
+            result.flows.add(new StudentFlowPlanner.Flow(names[path[0]], names[path[path.length - 1]],
+                                                         students, distance, route));
+            result.routedStudents += students;
+            result.totalStudentKm += students * distance;
+        }
+    }
+}
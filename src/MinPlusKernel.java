@@ -0,0 +1,78 @@
+/**
+ * Inner loop of Floyd-Warshall over one row slice: d[i][j] = min(d[i][j], d[i][k] + d[k][j]).
+ * The scalar kernel below always works; a SIMD kernel built on jdk.incubator.vector
+ * (src-vector/VectorMinPlusKernel.java) is picked up at runtime when it was compiled
+ * and the JVM was started with --add-modules jdk.incubator.vector.
+ * Both kernels use the same strict '<' comparison, so their tables are bit-identical.
+ */
+public interface MinPlusKernel {
+
+    String VECTOR_KERNEL_CLASS = "VectorMinPlusKernel";
+
+    /**
+     * Relax columns [j0, j1) of row i through intermediate k
+     * @param d Row-major distance matrix
+     * @param iRow Offset of row i
+     * @param kRow Offset of row k
+     * @param dik Finite distance from i to k
+     */
+    void relaxRow(double[] d, int iRow, int kRow, double dik, int j0, int j1);
+
+    /**
+     * Same as relaxRow, also setting nextHop[i][j] = hop wherever the distance improved
+     */
+    void relaxRow(double[] d, int[] nextHop, int iRow, int kRow, double dik, int hop, int j0, int j1);
+
+    String getName();
+
+    /**
+     * Portable kernel; the select uses no Math.min so the loop stays branch-free on every JDK
+     */
+    MinPlusKernel SCALAR = new MinPlusKernel() {
+        @Override
+        public void relaxRow(double[] d, int iRow, int kRow, double dik, int j0, int j1) {
+            for (int j = j0; j < j1; j++) {
+                double viaK = dik + d[kRow + j];
+                double current = d[iRow + j];
+                d[iRow + j] = viaK < current ? viaK : current;
+            }
+        }
+
+        @Override
+        public void relaxRow(double[] d, int[] nextHop, int iRow, int kRow, double dik, int hop, int j0, int j1) {
+            for (int j = j0; j < j1; j++) {
+                double viaK = dik + d[kRow + j];
+                if (viaK < d[iRow + j]) {
+                    d[iRow + j] = viaK;
+                    nextHop[iRow + j] = hop;
+                }
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "scalar";
+        }
+    };
+
+    /**
+     * Pick the fastest available kernel. -Dapsp.kernel=scalar forces the scalar loop.
+     * @return The vector kernel if it can be loaded and used, otherwise SCALAR
+     */
+    static MinPlusKernel select() {
+        if ("scalar".equalsIgnoreCase(System.getProperty("apsp.kernel"))) {
+            return SCALAR;
+        }
+        try {
+            MinPlusKernel kernel = (MinPlusKernel) Class.forName(VECTOR_KERNEL_CLASS)
+                                                        .getDeclaredConstructor().newInstance();
+            // Exercise it once: a missing jdk.incubator.vector module only shows up on first use
+            double[] probe = {0.0, 1.0, 3.0, 1.0, 0.0, 1.0, 3.0, 1.0, 0.0};
+            kernel.relaxRow(probe, 0, 3, 1.0, 0, 3);
+            return probe[2] == 2.0 ? kernel : SCALAR;
+        } catch (Throwable e) {
+            // Class not compiled, module not added, or no usable vector shape
+            return SCALAR;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+import java.util.Arrays;
+
+/**
+ * The k nearest members of every landmark category from every location, by shortest-path distance.
+ * Built once per graph version with one multi-source Dijkstra per category: all members start
+ * together on the reversed graph, and each location keeps the first k distinct members whose
+ * search fronts reach it. "Nearest bank" and default landmark suggestions are then array lookups.
+ * A location that is itself a member lists itself first, at distance 0.
+ */
+public class NearestFacilityTable {
+
+    public static final int DEFAULT_K = 3;
+
+    private final String[] locations;
+    private final LandmarkCategoryIndex categories;
+    private final long graphVersion;
+    private final int n;
+    private final int k;
+    private final int[][] nearest;        // per category, n*k member indices (-1 when fewer exist)
+    private final double[][] distances;   // per category, n*k distances, ascending per location
+
+    public NearestFacilityTable(CampusGraph graph, LandmarkCategoryIndex categories, int k) {
+        this.locations = graph.getLocations();
+        this.categories = categories;
+        this.graphVersion = graph.getVersion();
+        this.n = graph.size();
+        this.k = k;
+        this.nearest = new int[categories.getCategoryCount()][];
+        this.distances = new double[categories.getCategoryCount()][];
+
+        LabelQueue queue = new LabelQueue(Math.max(16, n));
+        for (int c = 0; c < categories.getCategoryCount(); c++) {
+            buildCategory(graph, c, queue);
+        }
+    }
+
+    /**
+     * k-label multi-source Dijkstra on the reversed graph for one category
+     */
+    private void buildCategory(CampusGraph graph, int category, LabelQueue queue) {
+        int[] offsets = graph.getInOffsets();
+        int[] sources = graph.getInSources();
+        double[] weights = graph.getInWeights();
+
+        int[] members = new int[n * k];
+        double[] memberDistances = new double[n * k];
+        Arrays.fill(members, -1);
+        Arrays.fill(memberDistances, CampusGraph.INFINITY);
+        int[] labelCount = new int[n];
+
+        queue.clear();
+        for (int member : categories.getMembers(category)) {
+            queue.add(0.0, member, member);
+        }
+
+        while (!queue.isEmpty()) {
+            double distance = queue.peekKey();
+            int v = queue.peekVertex();
+            int member = queue.peekSource();
+            queue.removeMin();
+
+            // Labels arrive in distance order: accept the first k distinct members per location
+            int count = labelCount[v];
+            if (count == k || hasLabel(members, v * k, count, member)) continue;
+            members[v * k + count] = member;
+            memberDistances[v * k + count] = distance;
+            labelCount[v] = count + 1;
+
+            // Walking from u to v and then on to the member: follow reversed walkways
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = sources[e];
+                if (labelCount[u] < k) {
+                    queue.add(distance + weights[e], u, member);
+                }
+            }
+        }
+
+        nearest[category] = members;
+        distances[category] = memberDistances;
+    }
+
+    private static boolean hasLabel(int[] members, int offset, int count, int member) {
+        for (int i = 0; i < count; i++) {
+            if (members[offset + i] == member) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getGraphVersion() {
+        return graphVersion;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public LandmarkCategoryIndex getCategories() {
+        return categories;
+    }
+
+    /**
+     * @return The closest member of the category from the location, or -1 if none is reachable
+     */
+    public int getNearest(int location, int category) {
+        return nearest[category][location * k];
+    }
+
+    /**
+     * @return Walking distance to the rank-th closest member (0-based), INFINITY if there is none
+     */
+    public double getDistance(int location, int category, int rank) {
+        return distances[category][location * k + rank];
+    }
+
+    /**
+     * @return Up to k closest members of the category, nearest first
+     */
+    public int[] getNearestMembers(int location, int category) {
+        int[] members = nearest[category];
+        int count = 0;
+        while (count < k && members[location * k + count] != -1) {
+            count++;
+        }
+        return Arrays.copyOfRange(members, location * k, location * k + count);
+    }
+
+    /**
+     * Human-readable suggestions such as "Balme Library (0.250 km)" for a location and landmark type
+     * @return Suggestions nearest first; empty if the type is not a known category
+     */
+    public String[] getSuggestions(int location, String landmarkType) {
+        int category = categories.findCategory(landmarkType);
+        if (category < 0) {
+            return new String[0];
+        }
+        int[] members = getNearestMembers(location, category);
+        String[] suggestions = new String[members.length];
+        for (int rank = 0; rank < members.length; rank++) {
+            suggestions[rank] = String.format("%s (%.3f km)", locations[members[rank]].replace(" Legon", ""),
+                                              getDistance(location, category, rank));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Binary min-heap of (distance, location, member) labels in parallel primitive arrays.
+     * Unlike IndexedMinHeap a location can be queued many times, once per member front.
+     */
+    private static class LabelQueue {
+        private double[] keys;
+        private int[] vertices;
+        private int[] sources;
+        private int size;
+
+        LabelQueue(int capacity) {
+            keys = new double[capacity];
+            vertices = new int[capacity];
+            sources = new int[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        double peekKey() {
+            return keys[0];
+        }
+
+        int peekVertex() {
+            return vertices[0];
+        }
+
+        int peekSource() {
+            return sources[0];
+        }
+
+        void add(double key, int vertex, int source) {
+            if (size == keys.length) {
+                int capacity = size * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                vertices = Arrays.copyOf(vertices, capacity);
+                sources = Arrays.copyOf(sources, capacity);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) break;
+                move(parent, i);
+                i = parent;
+            }
+            keys[i] = key;
+            vertices[i] = vertex;
+            sources[i] = source;
+        }
+
+        void removeMin() {
+            size--;
+            if (size == 0) {
+                return;
+            }
+            double key = keys[size];
+            int vertex = vertices[size], source = sources[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+                if (keys[child] >= key) break;
+                move(child, i);
+                i = child;
+            }
+            keys[i] = key;
+            vertices[i] = vertex;
+            sources[i] = source;
+        }
+
+        private void move(int from, int to) {
+            keys[to] = keys[from];
+            vertices[to] = vertices[from];
+            sources[to] = sources[from];
+        }
+    }
+}
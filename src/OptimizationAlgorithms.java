@@ -6,9 +6,278 @@ import java.util.*;
  */
 public class OptimizationAlgorithms {
     
+    /**
+     * Sparse transportation allocation: only the basic cells are stored.
+     * A basic feasible solution has at most m + n - 1 cells (some may carry zero flow when the
+     * solution is degenerate), so memory is O(m + n) instead of a dense m x n matrix. Cells are
+     * kept in parallel arrays and chained into doubly linked lists per row and per column, which
+     * double as the spanning-tree adjacency MODI walks.
+     */
+    public static class SparseAllocation {
+        
+        private final int rows;
+        private final int cols;
+        private final int[] rowHead;
+        private final int[] colHead;
+        private int[] cellRow;
+        private int[] cellCol;
+        private int[] amount;
+        private int[] nextInRow, prevInRow;
+        private int[] nextInCol, prevInCol;
+        private int used;           // cell slots handed out so far
+        private int cellCount;      // cells currently in the allocation
+        private int freeCell = -1;  // removed slots, chained through nextInRow
+        
+        public SparseAllocation(int rows, int cols) {
+            this.rows = rows;
+            this.cols = cols;
+            this.rowHead = new int[rows];
+            this.colHead = new int[cols];
+            Arrays.fill(rowHead, -1);
+            Arrays.fill(colHead, -1);
+            int capacity = Math.max(1, rows + cols - 1);
+            cellRow = new int[capacity];
+            cellCol = new int[capacity];
+            amount = new int[capacity];
+            nextInRow = new int[capacity];
+            prevInRow = new int[capacity];
+            nextInCol = new int[capacity];
+            prevInCol = new int[capacity];
+        }
+        
+        /**
+         * Sparse copy of the positive cells of a dense allocation
+         */
+        public static SparseAllocation fromDense(int[][] allocation) {
+            int m = allocation.length;
+            int n = (m == 0) ? 0 : allocation[0].length;
+            SparseAllocation sparse = new SparseAllocation(m, n);
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (allocation[i][j] > 0) {
+                        sparse.add(i, j, allocation[i][j]);
+                    }
+                }
+            }
+            return sparse;
+        }
+        
+        public int getRows() {
+            return rows;
+        }
+        
+        public int getColumns() {
+            return cols;
+        }
+        
+        /**
+         * @return Number of basic cells, including zero-flow ones
+         */
+        public int size() {
+            return cellCount;
+        }
+        
+        /**
+         * Add a basic cell
+         * @return The new cell's id
+         */
+        public int add(int row, int col, int cellAmount) {
+            int cell;
+            if (freeCell != -1) {
+                cell = freeCell;
+                freeCell = nextInRow[cell];
+            } else {
+                if (used == cellRow.length) {
+                    grow();
+                }
+                cell = used++;
+            }
+            cellRow[cell] = row;
+            cellCol[cell] = col;
+            amount[cell] = cellAmount;
+            
+            prevInRow[cell] = -1;
+            nextInRow[cell] = rowHead[row];
+            if (rowHead[row] != -1) prevInRow[rowHead[row]] = cell;
+            rowHead[row] = cell;
+            
+            prevInCol[cell] = -1;
+            nextInCol[cell] = colHead[col];
+            if (colHead[col] != -1) prevInCol[colHead[col]] = cell;
+            colHead[col] = cell;
+            
+            cellCount++;
+            return cell;
+        }
+        
+        /**
+         * Remove a cell from the basis in O(1)
+         */
+        public void remove(int cell) {
+            int row = cellRow[cell], col = cellCol[cell];
+            if (prevInRow[cell] != -1) nextInRow[prevInRow[cell]] = nextInRow[cell]; else rowHead[row] = nextInRow[cell];
+            if (nextInRow[cell] != -1) prevInRow[nextInRow[cell]] = prevInRow[cell];
+            if (prevInCol[cell] != -1) nextInCol[prevInCol[cell]] = nextInCol[cell]; else colHead[col] = nextInCol[cell];
+            if (nextInCol[cell] != -1) prevInCol[nextInCol[cell]] = prevInCol[cell];
+            
+            nextInRow[cell] = freeCell;
+            freeCell = cell;
+            cellCount--;
+        }
+        
+        private void grow() {
+            int capacity = cellRow.length * 2;
+            cellRow = Arrays.copyOf(cellRow, capacity);
+            cellCol = Arrays.copyOf(cellCol, capacity);
+            amount = Arrays.copyOf(amount, capacity);
+            nextInRow = Arrays.copyOf(nextInRow, capacity);
+            prevInRow = Arrays.copyOf(prevInRow, capacity);
+            nextInCol = Arrays.copyOf(nextInCol, capacity);
+            prevInCol = Arrays.copyOf(prevInCol, capacity);
+        }
+        
+        // Cell traversal: first/next return -1 at the end of a row or column
+        
+        public int firstInRow(int row) {
+            return rowHead[row];
+        }
+        
+        public int nextInRow(int cell) {
+            return nextInRow[cell];
+        }
+        
+        public int firstInColumn(int col) {
+            return colHead[col];
+        }
+        
+        public int nextInColumn(int cell) {
+            return nextInCol[cell];
+        }
+        
+        public int getRow(int cell) {
+            return cellRow[cell];
+        }
+        
+        public int getColumn(int cell) {
+            return cellCol[cell];
+        }
+        
+        public int getAmount(int cell) {
+            return amount[cell];
+        }
+        
+        public void setAmount(int cell, int cellAmount) {
+            amount[cell] = cellAmount;
+        }
+        
+        /**
+         * @return Amount allocated to a cell, 0 if it is not basic
+         */
+        public int get(int row, int col) {
+            for (int cell = rowHead[row]; cell != -1; cell = nextInRow[cell]) {
+                if (cellCol[cell] == col) {
+                    return amount[cell];
+                }
+            }
+            return 0;
+        }
+        
+        /**
+         * Total cost over the basic cells only: O(m + n) instead of O(m * n)
+         */
+        public double totalCost(double[][] costs) {
+            double total = 0;
+            for (int row = 0; row < rows; row++) {
+                for (int cell = rowHead[row]; cell != -1; cell = nextInRow[cell]) {
+                    total += amount[cell] * costs[row][cellCol[cell]];
+                }
+            }
+            return total;
+        }
+        
+        /**
+         * Pad a degenerate solution with zero cells until the basis spans every row and column
+         * (m + n - 1 cells forming a tree), as MODI requires
+         * @return false if the cells contain a cycle, i.e. the allocation is not a basic solution
+         */
+        public boolean completeBasis() {
+            int[] component = new int[rows + cols];
+            for (int node = 0; node < component.length; node++) {
+                component[node] = node;
+            }
+            for (int row = 0; row < rows; row++) {
+                for (int cell = rowHead[row]; cell != -1; cell = nextInRow[cell]) {
+                    if (!union(component, row, rows + cellCol[cell])) {
+                        return false;
+                    }
+                }
+            }
+            if (rows == 0 || cols == 0) {
+                return true;
+            }
+            
+            // Join every other component to row 0's through row 0 or one of its columns
+            int anchorCol = 0;
+            while (anchorCol < cols && find(component, rows + anchorCol) != find(component, 0)) {
+                anchorCol++;
+            }
+            if (anchorCol == cols) {
+                anchorCol = 0;
+                add(0, 0, 0);
+                union(component, 0, rows);
+            }
+            for (int row = 1; row < rows; row++) {
+                if (union(component, row, rows + anchorCol)) {
+                    add(row, anchorCol, 0);
+                }
+            }
+            for (int col = 0; col < cols; col++) {
+                if (union(component, 0, rows + col)) {
+                    add(0, col, 0);
+                }
+            }
+            return true;
+        }
+        
+        private static boolean union(int[] component, int a, int b) {
+            int rootA = find(component, a), rootB = find(component, b);
+            if (rootA == rootB) {
+                return false;
+            }
+            component[rootA] = rootB;
+            return true;
+        }
+        
+        private static int find(int[] component, int node) {
+            while (component[node] != node) {
+                component[node] = component[component[node]];
+                node = component[node];
+            }
+            return node;
+        }
+        
+        /**
+         * @return The allocation as a dense m x n matrix for the older APIs
+         */
+        public int[][] toDense() {
+            int[][] dense = new int[rows][cols];
+            for (int row = 0; row < rows; row++) {
+                for (int cell = rowHead[row]; cell != -1; cell = nextInRow[cell]) {
+                    dense[row][cellCol[cell]] = amount[cell];
+                }
+            }
+            return dense;
+        }
+    }
+    
     /**
      * Vogel Approximation Method (VAM) for optimized route distribution
      * This method finds a good initial solution for transportation problems
+     *
+     * Every row and column keeps its cells sorted by cost once, plus two cursors to its
+     * cheapest and second-cheapest cells still open. Closing a row or column only moves
+     * cursors forward, so penalties stay current without rescanning the cost matrix and
+     * the whole solve is O(mn log n) instead of O((m+n)mn).
      */
     public static class VogelApproximationMethod {
         
@@ -20,143 +289,166 @@ public class OptimizationAlgorithms {
          * @return Allocation matrix showing optimal assignments
          */
         public static int[][] solveTransportationProblem(int[] supply, int[] demand, double[][] costs) {
+            return solveBasis(supply, demand, costs).toDense();
+        }
+        
+        /**
+         * Apply VAM and keep the result sparse
+         * @return Basic feasible solution, padded to a full basis when degenerate
+         */
+        public static SparseAllocation solveBasis(int[] supply, int[] demand, double[][] costs) {
             int m = supply.length;
             int n = demand.length;
             
             // Create working copies
             int[] supplyCopy = Arrays.copyOf(supply, m);
             int[] demandCopy = Arrays.copyOf(demand, n);
-            int[][] allocation = new int[m][n];
+            SparseAllocation allocation = new SparseAllocation(m, n);
+            if (m == 0 || n == 0) {
+                return allocation;
+            }
             
-            List<Integer> availableRows = new ArrayList<>();
-            List<Integer> availableCols = new ArrayList<>();
+            // Cells of each line in (cost, index) order
+            int[][] rowOrder = new int[m][];
+            double[] line = new double[Math.max(m, n)];
+            for (int i = 0; i < m; i++) {
+                rowOrder[i] = sortedByCost(costs[i], n);
+            }
+            int[][] colOrder = new int[n][];
+            for (int j = 0; j < n; j++) {
+                for (int i = 0; i < m; i++) {
+                    line[i] = costs[i][j];
+                }
+                colOrder[j] = sortedByCost(line, m);
+            }
             
-            for (int i = 0; i < m; i++) availableRows.add(i);
-            for (int j = 0; j < n; j++) availableCols.add(j);
+            boolean[] rowClosed = new boolean[m];
+            boolean[] colClosed = new boolean[n];
+            int[] rowFirst = new int[m], rowSecond = new int[m];
+            int[] colFirst = new int[n], colSecond = new int[n];
+            Arrays.fill(rowSecond, 1);
+            Arrays.fill(colSecond, 1);
+            int openRows = m, openCols = n;
             
-            while (!availableRows.isEmpty() && !availableCols.isEmpty()) {
-                // Calculate penalties for rows and columns
-                Map<Integer, Double> rowPenalties = calculateRowPenalties(costs, availableRows, availableCols);
-                Map<Integer, Double> colPenalties = calculateColPenalties(costs, availableRows, availableCols);
-                
-                // Find maximum penalty
+            while (openRows > 0 && openCols > 0) {
+                // Find maximum penalty: rows first, a column only if strictly larger
                 double maxPenalty = -1;
                 boolean isRowPenalty = true;
                 int selectedIndex = -1;
                 
-                for (int row : availableRows) {
-                    if (rowPenalties.get(row) > maxPenalty) {
-                        maxPenalty = rowPenalties.get(row);
-                        isRowPenalty = true;
+                for (int row = 0; row < m; row++) {
+                    if (rowClosed[row]) continue;
+                    double penalty = rowPenalty(costs[row], rowOrder[row], colClosed, rowFirst, rowSecond, row);
+                    if (penalty > maxPenalty) {
+                        maxPenalty = penalty;
                         selectedIndex = row;
                     }
                 }
                 
-                for (int col : availableCols) {
-                    if (colPenalties.get(col) > maxPenalty) {
-                        maxPenalty = colPenalties.get(col);
+                for (int col = 0; col < n; col++) {
+                    if (colClosed[col]) continue;
+                    double penalty = columnPenalty(costs, col, colOrder[col], rowClosed, colFirst, colSecond);
+                    if (penalty > maxPenalty) {
+                        maxPenalty = penalty;
                         isRowPenalty = false;
                         selectedIndex = col;
                     }
                 }
                 
-                // Allocate based on maximum penalty
+                // Allocate to the cheapest open cell of the selected line
+                int row, col;
                 if (isRowPenalty) {
-                    allocateFromRow(selectedIndex, supplyCopy, demandCopy, costs, allocation, 
-                                  availableRows, availableCols);
+                    row = selectedIndex;
+                    col = rowOrder[row][rowFirst[row]];
                 } else {
-                    allocateFromColumn(selectedIndex, supplyCopy, demandCopy, costs, allocation, 
-                                     availableRows, availableCols);
+                    col = selectedIndex;
+                    row = colOrder[col][colFirst[col]];
+                }
+                
+                int allocateAmount = Math.min(supplyCopy[row], demandCopy[col]);
+                allocation.add(row, col, allocateAmount);
+                supplyCopy[row] -= allocateAmount;
+                demandCopy[col] -= allocateAmount;
+                
+                // Remove exhausted supply/demand
+                if (supplyCopy[row] == 0) {
+                    rowClosed[row] = true;
+                    openRows--;
+                }
+                if (demandCopy[col] == 0) {
+                    colClosed[col] = true;
+                    openCols--;
                 }
             }
             
+            allocation.completeBasis();
             return allocation;
         }
         
-        private static Map<Integer, Double> calculateRowPenalties(double[][] costs, 
-                                                                List<Integer> rows, List<Integer> cols) {
-            Map<Integer, Double> penalties = new HashMap<>();
-            
-            for (int row : rows) {
-                List<Double> rowCosts = new ArrayList<>();
-                for (int col : cols) {
-                    rowCosts.add(costs[row][col]);
-                }
-                Collections.sort(rowCosts);
-                
-                double penalty = (rowCosts.size() > 1) ? rowCosts.get(1) - rowCosts.get(0) : rowCosts.get(0);
-                penalties.put(row, penalty);
-            }
-            
-            return penalties;
+        /**
+         * Row penalty: second-smallest minus smallest open cost, or the smallest if only one is open.
+         * Advances the row's cursors past closed columns.
+         */
+        private static double rowPenalty(double[] costs, int[] order, boolean[] closed,
+                                      int[] first, int[] second, int line) {
+            int f = first[line];
+            while (closed[order[f]]) f++;
+            int s = Math.max(second[line], f + 1);
+            while (s < order.length && closed[order[s]]) s++;
+            first[line] = f;
+            second[line] = s;
+            return (s < order.length) ? costs[order[s]] - costs[order[f]] : costs[order[f]];
         }
         
-        private static Map<Integer, Double> calculateColPenalties(double[][] costs, 
-                                                                List<Integer> rows, List<Integer> cols) {
-            Map<Integer, Double> penalties = new HashMap<>();
-            
-            for (int col : cols) {
-                List<Double> colCosts = new ArrayList<>();
-                for (int row : rows) {
-                    colCosts.add(costs[row][col]);
-                }
-                Collections.sort(colCosts);
-                
-                double penalty = (colCosts.size() > 1) ? colCosts.get(1) - colCosts.get(0) : colCosts.get(0);
-                penalties.put(col, penalty);
-            }
-            
-            return penalties;
+        /**
+         * Column penalty, as rowPenalty() but reading costs down column col
+         */
+        private static double columnPenalty(double[][] costs, int col, int[] order, boolean[] closed,
+                                            int[] first, int[] second) {
+            int f = first[col];
+            while (closed[order[f]]) f++;
+            int s = Math.max(second[col], f + 1);
+            while (s < order.length && closed[order[s]]) s++;
+            first[col] = f;
+            second[col] = s;
+            return (s < order.length) ? costs[order[s]][col] - costs[order[f]][col] : costs[order[f]][col];
         }
         
-        private static void allocateFromRow(int row, int[] supply, int[] demand, double[][] costs, 
-                                          int[][] allocation, List<Integer> availableRows, 
-                                          List<Integer> availableCols) {
-            // Find minimum cost in the row
-            double minCost = Double.MAX_VALUE;
-            int minCol = -1;
-            
-            for (int col : availableCols) {
-                if (costs[row][col] < minCost) {
-                    minCost = costs[row][col];
-                    minCol = col;
-                }
+        /**
+         * Indices 0..length-1 ordered by (cost, index): heapsort, no boxing, ties keep index order
+         */
+        private static int[] sortedByCost(double[] costs, int length) {
+            int[] order = new int[length];
+            for (int i = 0; i < length; i++) {
+                order[i] = i;
             }
-            
-            // Allocate
-            int allocateAmount = Math.min(supply[row], demand[minCol]);
-            allocation[row][minCol] = allocateAmount;
-            supply[row] -= allocateAmount;
-            demand[minCol] -= allocateAmount;
-            
-            // Remove exhausted supply/demand
-            if (supply[row] == 0) availableRows.remove(Integer.valueOf(row));
-            if (demand[minCol] == 0) availableCols.remove(Integer.valueOf(minCol));
+            for (int i = length / 2 - 1; i >= 0; i--) {
+                siftDown(order, costs, i, length);
+            }
+            for (int end = length - 1; end > 0; end--) {
+                int swap = order[0];
+                order[0] = order[end];
+                order[end] = swap;
+                siftDown(order, costs, 0, end);
+            }
+            return order;
         }
         
-        private static void allocateFromColumn(int col, int[] supply, int[] demand, double[][] costs, 
-                                             int[][] allocation, List<Integer> availableRows, 
-                                             List<Integer> availableCols) {
-            // Find minimum cost in the column
-            double minCost = Double.MAX_VALUE;
-            int minRow = -1;
-            
-            for (int row : availableRows) {
-                if (costs[row][col] < minCost) {
-                    minCost = costs[row][col];
-                    minRow = row;
-                }
+        private static void siftDown(int[] order, double[] costs, int i, int size) {
+            int item = order[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && isAfter(order[child + 1], order[child], costs)) child++;
+                if (!isAfter(order[child], item, costs)) break;
+                order[i] = order[child];
+                i = child;
             }
-            
-            // Allocate
-            int allocateAmount = Math.min(supply[minRow], demand[col]);
-            allocation[minRow][col] = allocateAmount;
-            supply[minRow] -= allocateAmount;
-            demand[col] -= allocateAmount;
-            
-            // Remove exhausted supply/demand
-            if (supply[minRow] == 0) availableRows.remove(Integer.valueOf(minRow));
-            if (demand[col] == 0) availableCols.remove(Integer.valueOf(minRow));
+            order[i] = item;
+        }
+        
+        private static boolean isAfter(int a, int b, double[] costs) {
+            return costs[a] > costs[b] || (costs[a] == costs[b] && a > b);
         }
     }
     
@@ -172,18 +464,27 @@ public class OptimizationAlgorithms {
          * @return Allocation matrix using northwest corner rule
          */
         public static int[][] getInitialSolution(int[] supply, int[] demand) {
+            return getInitialBasis(supply, demand).toDense();
+        }
+        
+        /**
+         * Northwest Corner rule kept sparse. Every step records its cell, including the zero
+         * cells a degenerate step produces, so a balanced problem yields exactly m + n - 1 cells.
+         * @return Basic feasible solution
+         */
+        public static SparseAllocation getInitialBasis(int[] supply, int[] demand) {
             int m = supply.length;
             int n = demand.length;
             
             int[] supplyCopy = Arrays.copyOf(supply, m);
             int[] demandCopy = Arrays.copyOf(demand, n);
-            int[][] allocation = new int[m][n];
+            SparseAllocation allocation = new SparseAllocation(m, n);
             
             int i = 0, j = 0;
             
             while (i < m && j < n) {
                 int allocateAmount = Math.min(supplyCopy[i], demandCopy[j]);
-                allocation[i][j] = allocateAmount;
+                allocation.add(i, j, allocateAmount);
                 
                 supplyCopy[i] -= allocateAmount;
                 demandCopy[j] -= allocateAmount;
@@ -195,6 +496,7 @@ public class OptimizationAlgorithms {
                 }
             }
             
+            allocation.completeBasis();
             return allocation;
         }
         
@@ -215,6 +517,172 @@ public class OptimizationAlgorithms {
             
             return totalCost;
         }
+        
+        /**
+         * Total transportation cost over the basic cells only
+         */
+        public static double calculateTotalCost(SparseAllocation allocation, double[][] costs) {
+            return allocation.totalCost(costs);
+        }
+    }
+    
+    /**
+     * Modified Distribution (MODI / u-v) method: improves a basic feasible solution from
+     * VAM or the Northwest Corner rule to an optimal one.
+     *
+     * The basis is a spanning tree over rows and columns (m + n - 1 cells, padded with zero
+     * cells when the starting solution is degenerate). Each iteration solves u[i] + v[j] = c[i][j]
+     * on the tree, prices every other cell as c[i][j] - u[i] - v[j], and moves flow around the
+     * stepping-stone cycle of the most negative cell until no cell can lower the cost.
+     * The tree is the sparse allocation's own row and column lists, so nothing is rebuilt per pivot.
+     */
+    public static class ModifiedDistributionMethod {
+        
+        private static final double EPSILON = 1e-9;
+        
+        /**
+         * Improve an allocation to optimality
+         * @param initial Balanced basic feasible allocation (VAM or Northwest Corner output)
+         * @param costs Cost matrix
+         * @return Optimal allocation (a new matrix), or a copy of the input if it is not a basic solution
+         */
+        public static int[][] optimize(int[][] initial, double[][] costs) {
+            return optimize(SparseAllocation.fromDense(initial), costs).toDense();
+        }
+        
+        /**
+         * Improve a sparse basic solution to optimality, in place
+         * @param basis Balanced basic feasible solution; padded to a full basis if degenerate
+         * @param costs Cost matrix
+         * @return The same allocation, now optimal (unchanged if it is not a basic solution)
+         */
+        public static SparseAllocation optimize(SparseAllocation basis, double[][] costs) {
+            int m = basis.getRows();
+            int n = basis.getColumns();
+            if (m == 0 || n == 0) {
+                return basis;
+            }
+            if (!basis.completeBasis()) {
+                System.err.println("MODI: allocation is not a basic feasible solution, left unchanged");
+                return basis;
+            }
+            
+            // Tree nodes: row i is node i, column j is node m + j
+            double[] u = new double[m];
+            double[] v = new double[n];
+            int[] parentCell = new int[m + n];
+            int[] order = new int[m + n];
+            int maxIterations = Math.max(1000, 10 * m * n);
+            
+            for (int iteration = 0; iteration < maxIterations; iteration++) {
+                computePotentials(basis, costs, u, v, parentCell, order);
+                
+                // Price non-basic cells: Dantzig's rule, most negative reduced cost enters.
+                // Basic cells price at exactly zero, so they never qualify.
+                double mostNegative = -EPSILON;
+                int enterRow = -1, enterCol = -1;
+                for (int i = 0; i < m; i++) {
+                    double[] costRow = costs[i];
+                    double ui = u[i];
+                    for (int j = 0; j < n; j++) {
+                        double reduced = costRow[j] - ui - v[j];
+                        if (reduced < mostNegative) {
+                            mostNegative = reduced;
+                            enterRow = i;
+                            enterCol = j;
+                        }
+                    }
+                }
+                if (enterRow == -1) {
+                    return basis; // optimal
+                }
+                
+                // Tree path from the entering row to the entering column closes the cycle
+                walkTree(basis, enterRow, m + enterCol, parentCell, order);
+                
+                // Walking back from the column, cells alternate -, +, -, ...; theta is the smallest '-' flow
+                int theta = Integer.MAX_VALUE;
+                int leaving = -1;
+                boolean minus = true;
+                for (int node = m + enterCol; node != enterRow; node = otherEnd(basis, parentCell[node], node, m)) {
+                    int cell = parentCell[node];
+                    if (minus && basis.getAmount(cell) < theta) {
+                        theta = basis.getAmount(cell);
+                        leaving = cell;
+                    }
+                    minus = !minus;
+                }
+                
+                minus = true;
+                for (int node = m + enterCol; node != enterRow; node = otherEnd(basis, parentCell[node], node, m)) {
+                    int cell = parentCell[node];
+                    basis.setAmount(cell, basis.getAmount(cell) + (minus ? -theta : theta));
+                    minus = !minus;
+                }
+                
+                basis.remove(leaving);
+                basis.add(enterRow, enterCol, theta);
+            }
+            
+            System.err.println("MODI: iteration limit reached, returning the best allocation found");
+            return basis;
+        }
+        
+        private static int otherEnd(SparseAllocation basis, int cell, int node, int m) {
+            return (node < m) ? m + basis.getColumn(cell) : basis.getRow(cell);
+        }
+        
+        /**
+         * Solve u[i] + v[j] = c[i][j] over the basis tree, starting from u[0] = 0
+         */
+        private static void computePotentials(SparseAllocation basis, double[][] costs, double[] u, double[] v,
+                                              int[] parentCell, int[] order) {
+            int m = u.length;
+            u[0] = 0.0;
+            walkTree(basis, 0, -1, parentCell, order);
+            for (int k = 1; k < m + v.length; k++) {
+                int node = order[k];
+                int cell = parentCell[node];
+                int row = basis.getRow(cell), col = basis.getColumn(cell);
+                if (node >= m) {
+                    v[col] = costs[row][col] - u[row];
+                } else {
+                    u[row] = costs[row][col] - v[col];
+                }
+            }
+        }
+        
+        /**
+         * Breadth-first walk of the basis tree from root until target is reached (-1 walks the whole tree).
+         * On return parentCell links each reached node towards the root and order holds the
+         * nodes in discovery order, parents before children.
+         */
+        private static void walkTree(SparseAllocation basis, int root, int target, int[] parentCell, int[] order) {
+            int m = basis.getRows();
+            Arrays.fill(parentCell, -2);
+            parentCell[root] = -1;
+            order[0] = root;
+            int discovered = 1;
+            for (int next = 0; next < discovered; next++) {
+                if (target != -1 && parentCell[target] != -2) break;
+                int node = order[next];
+                if (node < m) {
+                    for (int cell = basis.firstInRow(node); cell != -1; cell = basis.nextInRow(cell)) {
+                        int other = m + basis.getColumn(cell);
+                        if (parentCell[other] != -2) continue;
+                        parentCell[other] = cell;
+                        order[discovered++] = other;
+                    }
+                } else {
+                    for (int cell = basis.firstInColumn(node - m); cell != -1; cell = basis.nextInColumn(cell)) {
+                        int other = basis.getRow(cell);
+                        if (parentCell[other] != -2) continue;
+                        parentCell[other] = cell;
+                        order[discovered++] = other;
+                    }
+                }
+            }
+        }
     }
     
     /**
@@ -249,29 +717,92 @@ public class OptimizationAlgorithms {
         }
         
         /**
-         * Calculate critical path for a set of activities
+         * Calculate critical path for a set of activities.
+         * Dependencies are indexed once into predecessor and successor arrays, the forward pass
+         * follows Kahn's topological order and the backward pass runs that order in reverse,
+         * so the whole schedule is O(V + E). Dependencies outside the list count as already done.
          * @param activities List of activities with dependencies
-         * @return List of activities on the critical path
+         * @return List of activities on the critical path, empty if the dependencies contain a cycle
          */
         public static List<Activity> findCriticalPath(List<Activity> activities) {
-            // Forward pass - calculate earliest start and finish times
-            calculateEarliestTimes(activities);
+            int n = activities.size();
+            Map<Activity, Integer> index = new IdentityHashMap<>(n);
+            for (int i = 0; i < n; i++) {
+                index.put(activities.get(i), i);
+            }
+            
+            // Predecessor and successor adjacency in CSR form
+            int[] predOffsets = new int[n + 1];
+            int[] predecessors = new int[Math.max(16, n)];
+            int edges = 0;
+            for (int i = 0; i < n; i++) {
+                for (Activity dependency : activities.get(i).dependencies) {
+                    Integer d = index.get(dependency);
+                    if (d == null) continue;
+                    if (edges == predecessors.length) {
+                        predecessors = Arrays.copyOf(predecessors, 2 * edges);
+                    }
+                    predecessors[edges++] = d;
+                }
+                predOffsets[i + 1] = edges;
+            }
             
-            // Find project completion time
+            int[] succOffsets = new int[n + 1];
+            for (int k = 0; k < edges; k++) {
+                succOffsets[predecessors[k] + 1]++;
+            }
+            for (int i = 0; i < n; i++) {
+                succOffsets[i + 1] += succOffsets[i];
+            }
+            int[] successors = new int[edges];
+            int[] succFill = Arrays.copyOf(succOffsets, n);
+            for (int i = 0; i < n; i++) {
+                for (int k = predOffsets[i]; k < predOffsets[i + 1]; k++) {
+                    successors[succFill[predecessors[k]]++] = i;
+                }
+            }
+            
+            int[] waitingOn = new int[n];
+            int[] order = topologicalOrder(n, predOffsets, succOffsets, successors, waitingOn);
+            if (order == null) {
+                System.err.println("Critical path not computed, dependency cycle: " 
+                                 + describeCycle(activities, predOffsets, predecessors, waitingOn));
+                return new ArrayList<>();
+            }
+            
+            // Forward pass - calculate earliest start and finish times
+            int[] earliestFinish = new int[n];
             int projectDuration = 0;
-            for (Activity activity : activities) {
-                projectDuration = Math.max(projectDuration, activity.earliestFinish);
+            for (int i : order) {
+                int earliestStart = 0;
+                for (int k = predOffsets[i]; k < predOffsets[i + 1]; k++) {
+                    earliestStart = Math.max(earliestStart, earliestFinish[predecessors[k]]);
+                }
+                Activity activity = activities.get(i);
+                activity.earliestStart = earliestStart;
+                activity.earliestFinish = earliestFinish[i] = earliestStart + activity.duration;
+                projectDuration = Math.max(projectDuration, earliestFinish[i]);
             }
             
             // Backward pass - calculate latest start and finish times
-            calculateLatestTimes(activities, projectDuration);
+            int[] latestStart = new int[n];
+            for (int o = n - 1; o >= 0; o--) {
+                int i = order[o];
+                int latestFinish = projectDuration;
+                for (int k = succOffsets[i]; k < succOffsets[i + 1]; k++) {
+                    latestFinish = Math.min(latestFinish, latestStart[successors[k]]);
+                }
+                Activity activity = activities.get(i);
+                activity.latestFinish = latestFinish;
+                activity.latestStart = latestStart[i] = latestFinish - activity.duration;
+            }
             
             // Calculate slack and identify critical path
             List<Activity> criticalPath = new ArrayList<>();
             for (Activity activity : activities) {
                 activity.slack = activity.latestStart - activity.earliestStart;
-                if (activity.slack == 0) {
-                    activity.isOnCriticalPath = true;
+                activity.isOnCriticalPath = activity.slack == 0;
+                if (activity.isOnCriticalPath) {
                     criticalPath.add(activity);
                 }
             }
@@ -279,77 +810,69 @@ public class OptimizationAlgorithms {
             return criticalPath;
         }
         
-        private static void calculateEarliestTimes(List<Activity> activities) {
-            // Topological sort to process activities in dependency order
-            Map<Activity, Integer> inDegree = new HashMap<>();
-            for (Activity activity : activities) {
-                inDegree.put(activity, 0);
-            }
-            
-            for (Activity activity : activities) {
-                for (Activity dependency : activity.dependencies) {
-                    inDegree.put(activity, inDegree.get(activity) + 1);
-                }
-            }
-            
-            Queue<Activity> queue = new LinkedList<>();
-            for (Activity activity : activities) {
-                if (inDegree.get(activity) == 0) {
-                    activity.earliestStart = 0;
-                    activity.earliestFinish = activity.duration;
-                    queue.offer(activity);
+        /**
+         * Kahn's algorithm over the successor arrays
+         * @param inDegree Output unfinished dependencies per activity, non-zero only for activities left on or behind a cycle
+         * @return Activity indices in dependency order, or null if some activities lie on a cycle
+         */
+        private static int[] topologicalOrder(int n, int[] predOffsets, int[] succOffsets, int[] successors,
+                                              int[] inDegree) {
+            int[] order = new int[n];
+            int head = 0, tail = 0;
+            for (int i = 0; i < n; i++) {
+                inDegree[i] = predOffsets[i + 1] - predOffsets[i];
+                if (inDegree[i] == 0) {
+                    order[tail++] = i;
                 }
             }
             
-            while (!queue.isEmpty()) {
-                Activity current = queue.poll();
-                
-                for (Activity activity : activities) {
-                    if (activity.dependencies.contains(current)) {
-                        activity.earliestStart = Math.max(activity.earliestStart, current.earliestFinish);
-                        activity.earliestFinish = activity.earliestStart + activity.duration;
-                        
-                        inDegree.put(activity, inDegree.get(activity) - 1);
-                        if (inDegree.get(activity) == 0) {
-                            queue.offer(activity);
-                        }
+            while (head < tail) {
+                int current = order[head++];
+                for (int k = succOffsets[current]; k < succOffsets[current + 1]; k++) {
+                    if (--inDegree[successors[k]] == 0) {
+                        order[tail++] = successors[k];
                     }
                 }
             }
+            return (tail == n) ? order : null;
         }
         
-        private static void calculateLatestTimes(List<Activity> activities, int projectDuration) {
-            // Initialize latest times
-            for (Activity activity : activities) {
-                activity.latestFinish = projectDuration;
-                activity.latestStart = activity.latestFinish - activity.duration;
-            }
-            
-            // Process in reverse topological order
-            boolean changed = true;
-            while (changed) {
-                changed = false;
-                for (Activity activity : activities) {
-                    for (Activity successor : getSuccessors(activity, activities)) {
-                        int newLatestFinish = successor.latestStart;
-                        if (newLatestFinish < activity.latestFinish) {
-                            activity.latestFinish = newLatestFinish;
-                            activity.latestStart = activity.latestFinish - activity.duration;
-                            changed = true;
-                        }
-                    }
-                }
+        /**
+         * Name one dependency cycle, e.g. "A -> B -> C -> A". Activities left over by Kahn's
+         * algorithm each wait on another leftover one, so following those dependencies must repeat.
+         */
+        private static String describeCycle(List<Activity> activities, int[] predOffsets, int[] predecessors,
+                                            int[] waitingOn) {
+            int n = activities.size();
+            int start = 0;
+            while (waitingOn[start] == 0) start++;
+            
+            boolean[] visited = new boolean[n];
+            int v = start;
+            while (!visited[v]) {
+                visited[v] = true;
+                v = waitingDependency(v, predOffsets, predecessors, waitingOn);
             }
+            
+            // v is the first repeated activity; walk the cycle once more, then print it in dependency order
+            List<String> cycle = new ArrayList<>();
+            int u = v;
+            do {
+                cycle.add(activities.get(u).name);
+                u = waitingDependency(u, predOffsets, predecessors, waitingOn);
+            } while (u != v);
+            cycle.add(activities.get(v).name);
+            Collections.reverse(cycle);
+            return String.join(" -> ", cycle);
         }
         
-        private static List<Activity> getSuccessors(Activity activity, List<Activity> allActivities) {
-            List<Activity> successors = new ArrayList<>();
-            for (Activity other : allActivities) {
-                if (other.dependencies.contains(activity)) {
-                    successors.add(other);
+        private static int waitingDependency(int activity, int[] predOffsets, int[] predecessors, int[] waitingOn) {
+            for (int k = predOffsets[activity]; k < predOffsets[activity + 1]; k++) {
+                if (waitingOn[predecessors[k]] > 0) {
+                    return predecessors[k];
                 }
             }
-            return successors;
+            return -1;
         }
         
         /**
@@ -416,10 +939,9 @@ public class OptimizationAlgorithms {
     
     private static Route applyVogelOptimization(List<String[]> adjacencyMatrix, 
                                               String startLocation, String endLocation) {
-        // Simplified VAM application for route optimization
-        // In practice, this would involve more complex supply/demand modeling
-        
-        // Use Dijkstra's algorithm as a proxy for VAM optimization
+        // One start and one destination make a 1x1 transportation problem whose only cell is the
+        // shortest walk, so this is a plain shortest path. Vogel's method plans real flows, many
+        // halls to many venues, in StudentFlowPlanner (UGRouteNavigator.planStudentFlows).
         return DijkstraAlgorithm.findShortestPath(adjacencyMatrix, startLocation, endLocation);
     }
     
@@ -443,13 +965,7 @@ public class OptimizationAlgorithms {
     
     // Helper methods
     private static int getLocationIndex(List<String[]> adjacencyMatrix, String location) {
-        String[] locations = adjacencyMatrix.get(0);
-        for (int i = 0; i < locations.length; i++) {
-            if (locations[i].contains(location)) {
-                return i;
-            }
-        }
-        return -1;
+        return LocationSearchEngine.resolve(adjacencyMatrix.get(0), location);
     }
     
     private static double getDirectDistance(List<String[]> adjacencyMatrix, String from, String to) {
@@ -24,24 +24,10 @@ public class ReadCSV {
             adjacencyMatrix = reader.readAll();
         }
 
-        int row_start_index = 0;
-        int column_end_index = 0;
-
-        for(String[] array: adjacencyMatrix){
-            if (adjacencyMatrix.indexOf(array) == 0){
-                for (int i = 0; i < array.length; i++){
-                    if (array[i].contains(destination)){
-                        column_end_index = i;
-                    }
-                }
-            }
-
-            // get index of source from first column
-            if (array[0].contains(start_location)) {
-                int index = adjacencyMatrix.indexOf(array);
-                row_start_index = index;
-            }
-        }
+        // row i of the matrix belongs to the location in column i of the header
+        String[] header = adjacencyMatrix.get(0);
+        int row_start_index = Math.max(0, LocationSearchEngine.resolve(header, start_location));
+        int column_end_index = Math.max(0, LocationSearchEngine.resolve(header, destination));
 
         double actual_distance = 0.0;
         try {
@@ -89,19 +75,12 @@ public class ReadCSV {
             allRoutes.add(aStarRoute);
         }
 
-        // Floyd-Warshall based route
-        double[][] allPairsDistances = FloydWarshallAlgorithm.findAllPairsShortestPaths(adjacencyMatrix);
-        if (allPairsDistances != null) {
-            String[] locations = adjacencyMatrix.get(0);
-            double shortestDistance = FloydWarshallAlgorithm.getShortestDistance(allPairsDistances, locations, start_location, destination);
-            if (shortestDistance > 0) {
-                StringBuilder fwRoute = new StringBuilder(start_location.replace(" Legon", ""))
-                                              .append(" => ")
-                                              .append(destination.replace(" Legon", ""));
-                Map<String, Double> fwSegments = new LinkedHashMap<>();
-                fwSegments.put(destination.replace(" Legon", ""), shortestDistance);
-                double[] fwDetails = distance_time(fwSegments);
-                Route floydWarshallRoute = new Route(fwRoute, fwDetails[0], fwDetails[1], "Floyd-Warshall Algorithm");
+        // Floyd-Warshall based route, read straight from the next-hop matrix
+        ShortestPathTable allPairs = FloydWarshallAlgorithm.findAllPairsWithPaths(adjacencyMatrix);
+        if (allPairs != null) {
+            Route floydWarshallRoute = allPairs.getRoute(start_location, destination);
+            if (floydWarshallRoute != null) {
+                floydWarshallRoute.algorithmUsed = "Floyd-Warshall Algorithm";
                 allRoutes.add(floydWarshallRoute);
             }
         }
@@ -278,6 +257,21 @@ public class ReadCSV {
         return new Route(route_string, routeDetails[0], routeDetails[1]);
     }
 
+    // builds a route along a sequence of location indices
+    public static Route buildPathRoute(String[] locations, int[] path, double[] segmentDistances) {
+        StringBuilder route_string = new StringBuilder(locations[path[0]].replace(" Legon", "").trim());
+        Map<String, Double> routes = new LinkedHashMap<String, Double>();
+
+        for (int i = 1; i < path.length; i++) {
+            String locationName = locations[path[i]].replace(" Legon", "").trim();
+            route_string.append(" => ").append(locationName);
+            routes.merge(locationName, segmentDistances[i - 1], Double::sum);
+        }
+
+        double[] routeDetails = distance_time(routes);
+        return new Route(route_string, routeDetails[0], routeDetails[1]);
+    }
+
     // distance and time of a given route
     public static double[] distance_time(Map<String, Double> routes){
         double distance = 0.0;
@@ -290,11 +284,11 @@ public class ReadCSV {
             
             // Apply distance correction for unrealistic values
             if (segmentDistance > MAX_REASONABLE_CAMPUS_DISTANCE) {
-                System.out.println("⚠️  WARNING: Unrealistic distance detected: " + segmentDistance + " km");
-                System.out.println("   Applying correction factor...");
+                RouteLog.println("⚠️  WARNING: Unrealistic distance detected: " + segmentDistance + " km");
+                RouteLog.println("   Applying correction factor...");
                 // Apply correction factor based on the assumption that very long distances are measurement errors
                 segmentDistance = Math.min(segmentDistance * 0.4, MAX_REASONABLE_CAMPUS_DISTANCE);
-                System.out.println("   Corrected distance: " + segmentDistance + " km");
+                RouteLog.println("   Corrected distance: " + segmentDistance + " km");
             }
             
             distance += segmentDistance;
@@ -305,8 +299,8 @@ public class ReadCSV {
         double timeInMinutes = timeInHours * 60;
         
         // Debug output to see actual calculations
-        System.out.println("Distance: " + String.format("%.3f", distance) + " km");
-        System.out.println("Time calculation: " + String.format("%.3f", distance) + " km ÷ " + average_walking_speed + " km/h × 60 = " + String.format("%.1f", timeInMinutes) + " minutes");
+        RouteLog.println("Distance: " + String.format("%.3f", distance) + " km");
+        RouteLog.println("Time calculation: " + String.format("%.3f", distance) + " km ÷ " + average_walking_speed + " km/h × 60 = " + String.format("%.1f", timeInMinutes) + " minutes");
         
         // More realistic time calculation
         double timeTaken;
@@ -320,10 +314,10 @@ public class ReadCSV {
         }
 
         // print out the details
-        System.out.println("Total Path Distance: " + distance);
-        System.out.println("Time taken to travel path: " + timeTaken + " minute(s)");     // Time taken to travel a route.
-        System.out.println();
-        System.out.println();
+        RouteLog.println("Total Path Distance: " + distance);
+        RouteLog.println("Time taken to travel path: " + timeTaken + " minute(s)");     // Time taken to travel a route.
+        RouteLog.println();
+        RouteLog.println();
 
         double[] route_details = {distance, timeTaken};
 
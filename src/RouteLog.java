@@ -0,0 +1,34 @@
+/**
+ * Console report of route calculations (distance and time breakdowns, warnings).
+ * Lines go straight to System.out, except on a thread that is collecting them: each strategy
+ * of a concurrent route query collects into its own buffer, and the querying thread prints
+ * the buffers in portfolio order once the strategies are done.
+ */
+public class RouteLog {
+
+    private static final ThreadLocal<StringBuilder> COLLECTING = new ThreadLocal<>();
+
+    /**
+     * Send this thread's lines to the buffer until stopCollecting is called
+     */
+    static void collectInto(StringBuilder buffer) {
+        COLLECTING.set(buffer);
+    }
+
+    static void stopCollecting() {
+        COLLECTING.remove();
+    }
+
+    public static void println(String line) {
+        StringBuilder buffer = COLLECTING.get();
+        if (buffer != null) {
+            buffer.append(line).append(System.lineSeparator());
+        } else {
+            System.out.println(line);
+        }
+    }
+
+    public static void println() {
+        println("");
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.concurrent.*;
 
 public class RouteSorter {
     
@@ -65,134 +66,213 @@ public class RouteSorter {
     }
     
     /**
-     * Sort routes by distance using Merge Sort algorithm
+     * Sort routes by distance using Merge Sort algorithm (stable, bottom-up)
      * @param routes Array of routes to sort
      */
     public static void mergeSortByDistance(Route[] routes) {
-        if (routes.length <= 1) return;
-        mergeSortByDistance(routes, 0, routes.length - 1);
+        sortRoutes(routes, new SortKey[]{SortKey.DISTANCE}, true);
     }
     
     /**
-     * Recursive Merge Sort by distance
+     * Sort routes by time using Merge Sort algorithm (stable, bottom-up)
+     * @param routes Array of routes to sort
      */
-    private static void mergeSortByDistance(Route[] routes, int left, int right) {
-        if (left < right) {
-            int mid = left + (right - left) / 2;
-            mergeSortByDistance(routes, left, mid);
-            mergeSortByDistance(routes, mid + 1, right);
-            mergeByDistance(routes, left, mid, right);
-        }
+    public static void mergeSortByTime(Route[] routes) {
+        sortRoutes(routes, new SortKey[]{SortKey.TIME}, true);
     }
     
     /**
-     * Merge function for Merge Sort by distance
+     * Route attributes that can be sorted on
      */
-    private static void mergeByDistance(Route[] routes, int left, int mid, int right) {
-        Route[] leftArray = new Route[mid - left + 1];
-        Route[] rightArray = new Route[right - mid];
-        
-        System.arraycopy(routes, left, leftArray, 0, leftArray.length);
-        System.arraycopy(routes, mid + 1, rightArray, 0, rightArray.length);
-        
-        int i = 0, j = 0, k = left;
+    public enum SortKey {
+        DISTANCE, TIME, 
+        EFFICIENCY; // distance/time ratio (lower is better)
         
-        while (i < leftArray.length && j < rightArray.length) {
-            if (leftArray[i].distance <= rightArray[j].distance) {
-                routes[k++] = leftArray[i++];
-            } else {
-                routes[k++] = rightArray[j++];
+        double extract(Route route) {
+            switch (this) {
+                case TIME:
+                    return route.time_taken;
+                case EFFICIENCY:
+                    return route.distance / Math.max(route.time_taken, 0.1);
+                default:
+                    return route.distance;
             }
         }
         
-        while (i < leftArray.length) {
-            routes[k++] = leftArray[i++];
-        }
-        
-        while (j < rightArray.length) {
-            routes[k++] = rightArray[j++];
+        /**
+         * @return The key for "distance", "time" or "efficiency" (any case); DISTANCE otherwise
+         */
+        public static SortKey fromName(String criteria) {
+            switch (criteria.toLowerCase()) {
+                case "time":
+                    return TIME;
+                case "efficiency":
+                    return EFFICIENCY;
+                default:
+                    return DISTANCE;
+            }
         }
     }
     
     /**
-     * Sort routes by time using Merge Sort algorithm
+     * Stable sort on one named criterion; unknown names sort by distance.
+     * Runs the key-extracted index merge sort below with a single key.
      * @param routes Array of routes to sort
+     * @param sortCriteria Sorting criteria: "distance", "time", "efficiency"
+     * @param ascending True for ascending order, false for descending
      */
-    public static void mergeSortByTime(Route[] routes) {
-        if (routes.length <= 1) return;
-        mergeSortByTime(routes, 0, routes.length - 1);
+    public static void sortRoutes(Route[] routes, String sortCriteria, boolean ascending) {
+        sortRoutes(routes, new SortKey[]{SortKey.fromName(sortCriteria)}, ascending);
     }
     
     /**
-     * Recursive Merge Sort by time
+     * Stable multi-key sort. Each key is extracted once into a double[] column, a permutation
+     * of indices is merge sorted over those primitive columns (later keys break ties of earlier
+     * ones, equal routes keep their order), and the routes are rearranged once at the end.
+     * @param routes Array of routes to sort
+     * @param keys Sort keys, most significant first
+     * @param ascending True for ascending order on every key, false for descending
      */
-    private static void mergeSortByTime(Route[] routes, int left, int right) {
-        if (left < right) {
-            int mid = left + (right - left) / 2;
-            mergeSortByTime(routes, left, mid);
-            mergeSortByTime(routes, mid + 1, right);
-            mergeByTime(routes, left, mid, right);
-        }
+    public static void sortRoutes(Route[] routes, SortKey[] keys, boolean ascending) {
+        sortRoutes(routes, keys, ascending, false);
     }
     
     /**
-     * Merge function for Merge Sort by time
+     * Same result as sortRoutes, but arrays above PARALLEL_THRESHOLD are split into halves
+     * sorted as ForkJoin tasks and merged back up the task tree. For bulk ranking of
+     * precomputed routes; small arrays are sorted on the calling thread.
+     * @param routes Array of routes to sort
+     * @param keys Sort keys, most significant first
+     * @param ascending True for ascending order on every key, false for descending
      */
-    private static void mergeByTime(Route[] routes, int left, int mid, int right) {
-        Route[] leftArray = new Route[mid - left + 1];
-        Route[] rightArray = new Route[right - mid];
+    public static void parallelSortRoutes(Route[] routes, SortKey[] keys, boolean ascending) {
+        sortRoutes(routes, keys, ascending, true);
+    }
+    
+    private static void sortRoutes(Route[] routes, SortKey[] keys, boolean ascending, boolean parallel) {
+        int n = routes.length;
+        if (n <= 1 || keys.length == 0) return;
         
-        System.arraycopy(routes, left, leftArray, 0, leftArray.length);
-        System.arraycopy(routes, mid + 1, rightArray, 0, rightArray.length);
+        double[][] columns = new double[keys.length][n];
+        for (int k = 0; k < keys.length; k++) {
+            double[] column = columns[k];
+            SortKey key = keys[k];
+            for (int i = 0; i < n; i++) {
+                column[i] = key.extract(routes[i]);
+            }
+        }
         
-        int i = 0, j = 0, k = left;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        int sign = ascending ? 1 : -1;
+        if (parallel && n > PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new ParallelMergeSort(order, new int[n], 0, n, columns, sign));
+        } else {
+            sortIndices(order, new int[n], 0, n, columns, sign);
+        }
         
-        while (i < leftArray.length && j < rightArray.length) {
-            if (leftArray[i].time_taken <= rightArray[j].time_taken) {
-                routes[k++] = leftArray[i++];
-            } else {
-                routes[k++] = rightArray[j++];
+        Route[] sorted = new Route[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = routes[order[i]];
+        }
+        System.arraycopy(sorted, 0, routes, 0, n);
+    }
+    
+    // Runs at most this long are insertion sorted before merging
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    
+    // Parallel sorts split ranges down to this size before sorting them sequentially
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    
+    /**
+     * Stable bottom-up merge sort of order[from, to) by the key columns: insertion sort fixed
+     * runs, then merge neighbouring runs of doubling width. Only scratch[from, to) is used.
+     */
+    private static void sortIndices(int[] order, int[] scratch, int from, int to, double[][] columns, int sign) {
+        for (int run = from; run < to; run += INSERTION_SORT_THRESHOLD) {
+            int runEnd = Math.min(run + INSERTION_SORT_THRESHOLD, to);
+            for (int i = run + 1; i < runEnd; i++) {
+                int item = order[i];
+                int j = i - 1;
+                while (j >= run && compareKeys(columns, order[j], item, sign) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = item;
             }
         }
         
-        while (i < leftArray.length) {
-            routes[k++] = leftArray[i++];
+        for (int width = INSERTION_SORT_THRESHOLD; width < to - from; width *= 2) {
+            for (int left = from; left < to - width; left += 2 * width) {
+                mergeRuns(order, scratch, left, left + width, Math.min(left + 2 * width, to), columns, sign);
+            }
+        }
+    }
+    
+    /**
+     * Merge the sorted runs order[from, mid) and order[mid, to), staging the left run in scratch
+     */
+    private static void mergeRuns(int[] order, int[] scratch, int from, int mid, int to, double[][] columns, int sign) {
+        if (compareKeys(columns, order[mid - 1], order[mid], sign) <= 0) {
+            return; // already in order
         }
         
-        while (j < rightArray.length) {
-            routes[k++] = rightArray[j++];
+        System.arraycopy(order, from, scratch, from, mid - from);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            order[k++] = (compareKeys(columns, order[j], scratch[i], sign) < 0) ? order[j++] : scratch[i++];
+        }
+        while (i < mid) {
+            order[k++] = scratch[i++];
         }
     }
     
     /**
-     * Sort routes using a custom comparator (for more complex sorting criteria)
-     * @param routes Array of routes to sort
-     * @param sortCriteria Sorting criteria: "distance", "time", "efficiency"
-     * @param ascending True for ascending order, false for descending
+     * Sorts both halves of its range as subtasks, then merges them. Sibling tasks own
+     * disjoint ranges of order and scratch, so one scratch buffer serves the whole tree.
      */
-    public static void sortRoutes(Route[] routes, String sortCriteria, boolean ascending) {
-        Arrays.sort(routes, (r1, r2) -> {
-            double comparison = 0;
-            
-            switch (sortCriteria.toLowerCase()) {
-                case "distance":
-                    comparison = Double.compare(r1.distance, r2.distance);
-                    break;
-                case "time":
-                    comparison = Double.compare(r1.time_taken, r2.time_taken);
-                    break;
-                case "efficiency":
-                    // Efficiency = distance/time ratio (lower is better)
-                    double efficiency1 = r1.distance / Math.max(r1.time_taken, 0.1);
-                    double efficiency2 = r2.distance / Math.max(r2.time_taken, 0.1);
-                    comparison = Double.compare(efficiency1, efficiency2);
-                    break;
-                default:
-                    comparison = Double.compare(r1.distance, r2.distance);
+    private static class ParallelMergeSort extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int[] order;
+        private final int[] scratch;
+        private final int from;
+        private final int to;
+        private final double[][] columns;
+        private final int sign;
+        
+        ParallelMergeSort(int[] order, int[] scratch, int from, int to, double[][] columns, int sign) {
+            this.order = order;
+            this.scratch = scratch;
+            this.from = from;
+            this.to = to;
+            this.columns = columns;
+            this.sign = sign;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                sortIndices(order, scratch, from, to, columns, sign);
+                return;
             }
-            
-            return ascending ? (int) comparison : (int) -comparison;
-        });
+            int mid = (from + to) >>> 1;
+            invokeAll(new ParallelMergeSort(order, scratch, from, mid, columns, sign),
+                      new ParallelMergeSort(order, scratch, mid, to, columns, sign));
+            mergeRuns(order, scratch, from, mid, to, columns, sign);
+        }
+    }
+    
+    private static int compareKeys(double[][] columns, int a, int b, int sign) {
+        for (double[] column : columns) {
+            int comparison = Double.compare(column[a], column[b]);
+            if (comparison != 0) {
+                return sign * comparison;
+            }
+        }
+        return 0;
     }
     
     /**
@@ -200,15 +280,7 @@ public class RouteSorter {
      * @param routes Array of routes to sort
      */
     public static void sortByMultipleCriteria(Route[] routes) {
-        Arrays.sort(routes, (r1, r2) -> {
-            // First compare by distance
-            int distanceComparison = Double.compare(r1.distance, r2.distance);
-            if (distanceComparison != 0) {
-                return distanceComparison;
-            }
-            // If distances are equal, compare by time
-            return Double.compare(r1.time_taken, r2.time_taken);
-        });
+        sortRoutes(routes, new SortKey[]{SortKey.DISTANCE, SortKey.TIME}, true);
     }
     
     /**
@@ -223,11 +295,290 @@ public class RouteSorter {
             return new Route[0];
         }
         
-        Route[] sortedRoutes = Arrays.copyOf(routes, routes.length);
-        sortRoutes(sortedRoutes, criteria, true); // Sort in ascending order (best first)
+        return selectTopN(routes, new SortKey[]{SortKey.fromName(criteria)}, n);
+    }
+    
+    /**
+     * The n best routes (smallest keys), best first, without sorting the rest.
+     * Same result as a stable sort followed by truncation, in O(len + n log n).
+     * @param routes Routes to choose from (not modified)
+     * @param keys Sort keys, most significant first
+     * @param n Number of routes wanted
+     */
+    public static Route[] selectTopN(Route[] routes, SortKey[] keys, int n) {
+        int count = routes.length;
+        double[][] columns = new double[keys.length][count];
+        for (int k = 0; k < keys.length; k++) {
+            for (int i = 0; i < count; i++) {
+                columns[k][i] = keys[k].extract(routes[i]);
+            }
+        }
+        
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        int selected = selectSmallest(order, count, n, columns);
         
-        int resultSize = Math.min(n, sortedRoutes.length);
-        return Arrays.copyOf(sortedRoutes, resultSize);
+        Route[] top = new Route[selected];
+        for (int i = 0; i < selected; i++) {
+            top[i] = routes[order[i]];
+        }
+        return top;
+    }
+    
+    /**
+     * List form of selectTopN
+     */
+    public static List<Route> selectTopN(List<Route> routes, SortKey[] keys, int n) {
+        return new ArrayList<>(Arrays.asList(selectTopN(routes.toArray(new Route[0]), keys, n)));
+    }
+    
+    /**
+     * Introselect over an index permutation: afterwards order[0, k) holds the k items with the
+     * smallest keys, in sorted order. Ties fall back to the item index, so the result matches
+     * a stable sort. Quickselect with median-of-three pivots, switching to heap selection when
+     * partitioning degrades, keeps the worst case at O(count log k).
+     * @param order Item indices to select from (columns are indexed by item)
+     * @param count Number of items in order
+     * @param k Number of items wanted
+     * @param columns Key columns, most significant first; ascending
+     * @return min(k, count)
+     */
+    static int selectSmallest(int[] order, int count, int k, double[][] columns) {
+        k = Math.max(0, Math.min(k, count));
+        if (k == 0) {
+            return 0;
+        }
+        
+        if (k < count) {
+            int from = 0, to = count;
+            int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(count));
+            while (true) {
+                if (to - from <= INSERTION_SORT_THRESHOLD) {
+                    insertionSortItems(order, from, to, columns);
+                    break;
+                }
+                if (depthLimit-- == 0) {
+                    heapSelect(order, from, to, k, columns);
+                    break;
+                }
+                int p = partition(order, from, to, columns);
+                if (k <= p) {
+                    to = p;
+                } else if (k > p + 1) {
+                    from = p + 1;
+                } else {
+                    break;
+                }
+            }
+        }
+        // Restore index order first so the stable sort breaks ties by index
+        Arrays.sort(order, 0, k);
+        sortIndices(order, new int[k], 0, k, columns, 1);
+        return k;
+    }
+    
+    /**
+     * Partition order[from, to) around a median-of-three pivot
+     * @return Final position of the pivot
+     */
+    private static int partition(int[] order, int from, int to, double[][] columns) {
+        int last = to - 1, mid = (from + to) >>> 1;
+        if (compareItems(columns, order[mid], order[from]) < 0) swapIndices(order, mid, from);
+        if (compareItems(columns, order[last], order[from]) < 0) swapIndices(order, last, from);
+        if (compareItems(columns, order[last], order[mid]) < 0) swapIndices(order, last, mid);
+        swapIndices(order, mid, last); // median to the end
+        
+        int pivot = order[last];
+        int store = from;
+        for (int i = from; i < last; i++) {
+            if (compareItems(columns, order[i], pivot) < 0) {
+                swapIndices(order, store++, i);
+            }
+        }
+        swapIndices(order, store, last);
+        return store;
+    }
+    
+    /**
+     * Fallback selection: a max-heap of the best k - from items seen so far in order[from, k)
+     */
+    private static void heapSelect(int[] order, int from, int to, int k, double[][] columns) {
+        int size = k - from;
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDownMax(order, from, i, size, columns);
+        }
+        for (int i = k; i < to; i++) {
+            if (compareItems(columns, order[i], order[from]) < 0) {
+                swapIndices(order, i, from);
+                siftDownMax(order, from, 0, size, columns);
+            }
+        }
+    }
+    
+    private static void siftDownMax(int[] order, int base, int i, int size, double[][] columns) {
+        int item = order[base + i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && compareItems(columns, order[base + child + 1], order[base + child]) > 0) child++;
+            if (compareItems(columns, order[base + child], item) <= 0) break;
+            order[base + i] = order[base + child];
+            i = child;
+        }
+        order[base + i] = item;
+    }
+    
+    private static void insertionSortItems(int[] order, int from, int to, double[][] columns) {
+        for (int i = from + 1; i < to; i++) {
+            int item = order[i];
+            int j = i - 1;
+            while (j >= from && compareItems(columns, order[j], item) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = item;
+        }
+    }
+    
+    private static int compareItems(double[][] columns, int a, int b) {
+        int comparison = compareKeys(columns, a, b, 1);
+        return (comparison != 0) ? comparison : Integer.compare(a, b);
+    }
+    
+    private static void swapIndices(int[] order, int i, int j) {
+        int temp = order[i];
+        order[i] = order[j];
+        order[j] = temp;
+    }
+    
+    /**
+     * Bounded max-heap that keeps the best N routes of a stream, e.g. routes produced one
+     * by one by several search strategies. Each offer is O(log N) and memory is O(N).
+     * Among equal keys the earlier route wins, as with a stable sort.
+     */
+    public static class TopRoutes {
+        private final SortKey[] keys;
+        private final int capacity;
+        private final Route[] heap;
+        private final double[] heapKeys;   // keys.length values per heap slot
+        private final long[] arrival;      // offer sequence per heap slot, for stable ties
+        private final double[] candidate;
+        private int size;
+        private long offered;
+        
+        public TopRoutes(SortKey[] keys, int capacity) {
+            this.keys = keys.clone();
+            this.capacity = Math.max(0, capacity);
+            this.heap = new Route[this.capacity];
+            this.heapKeys = new double[this.capacity * keys.length];
+            this.arrival = new long[this.capacity];
+            this.candidate = new double[keys.length];
+        }
+        
+        /**
+         * @return true if the route is currently among the best N
+         */
+        public boolean offer(Route route) {
+            long sequence = offered++;
+            if (capacity == 0) {
+                return false;
+            }
+            for (int k = 0; k < keys.length; k++) {
+                candidate[k] = keys[k].extract(route);
+            }
+            
+            if (size < capacity) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (compareSlot(parent, candidate, sequence) >= 0) break;
+                    moveSlot(parent, i);
+                    i = parent;
+                }
+                setSlot(i, route, candidate, sequence);
+                return true;
+            }
+            
+            // Replace the worst kept route only if the new one is strictly better
+            if (compareSlot(0, candidate, sequence) <= 0) {
+                return false;
+            }
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && compareSlots(child + 1, child) > 0) child++;
+                if (compareSlot(child, candidate, sequence) <= 0) break;
+                moveSlot(child, i);
+                i = child;
+            }
+            setSlot(i, route, candidate, sequence);
+            return true;
+        }
+        
+        public int size() {
+            return size;
+        }
+        
+        /**
+         * @return The kept routes, best first
+         */
+        public Route[] toSortedArray() {
+            // Key columns plus the arrival sequence as the least significant key
+            double[][] columns = new double[keys.length + 1][size];
+            for (int i = 0; i < size; i++) {
+                for (int k = 0; k < keys.length; k++) {
+                    columns[k][i] = heapKeys[i * keys.length + k];
+                }
+                columns[keys.length][i] = arrival[i];
+            }
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            sortIndices(order, new int[size], 0, size, columns, 1);
+            
+            Route[] sorted = new Route[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = heap[order[i]];
+            }
+            return sorted;
+        }
+        
+        /**
+         * Order of heap slot against a (keys, sequence) candidate: positive if the slot ranks after it
+         */
+        private int compareSlot(int slot, double[] values, long sequence) {
+            int base = slot * keys.length;
+            for (int k = 0; k < keys.length; k++) {
+                int comparison = Double.compare(heapKeys[base + k], values[k]);
+                if (comparison != 0) return comparison;
+            }
+            return Long.compare(arrival[slot], sequence);
+        }
+        
+        private int compareSlots(int a, int b) {
+            int baseA = a * keys.length, baseB = b * keys.length;
+            for (int k = 0; k < keys.length; k++) {
+                int comparison = Double.compare(heapKeys[baseA + k], heapKeys[baseB + k]);
+                if (comparison != 0) return comparison;
+            }
+            return Long.compare(arrival[a], arrival[b]);
+        }
+        
+        private void moveSlot(int from, int to) {
+            heap[to] = heap[from];
+            System.arraycopy(heapKeys, from * keys.length, heapKeys, to * keys.length, keys.length);
+            arrival[to] = arrival[from];
+        }
+        
+        private void setSlot(int slot, Route route, double[] values, long sequence) {
+            heap[slot] = route;
+            System.arraycopy(values, 0, heapKeys, slot * keys.length, keys.length);
+            arrival[slot] = sequence;
+        }
     }
     
     /**
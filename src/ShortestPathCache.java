@@ -0,0 +1,139 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * On-disk cache for the all-pairs distance and next-hop tables.
+ * The file is keyed by the campus graph's content hash, so all-pairs shortest paths
+ * only run again when Addresses.csv actually changes. Valid files are memory-mapped
+ * and bulk-copied into the table, which keeps APSP off the startup path.
+ *
+ * File layout: magic, format version, graph hash, n, n*n distances, n*n next hops.
+ */
+public class ShortestPathCache {
+
+    public static final String CACHE_FILE_NAME = "apsp-cache.bin";
+
+    private static final int FILE_MAGIC = 0x41505350; // "APSP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4;
+
+    /**
+     * The cache belongs next to the campus data it was computed from, wherever the program is run from
+     * @param dataFile The adjacency matrix CSV the graph was loaded from
+     */
+    public static File cacheFileFor(File dataFile) {
+        return new File(dataFile.getAbsoluteFile().getParentFile(), CACHE_FILE_NAME);
+    }
+
+    /**
+     * Load the tables for this graph from the cache, computing and storing them on a miss
+     * @param graph Current campus graph
+     * @param cacheFile Cache file location
+     * @return Distance and next-hop table for the graph
+     */
+    public static ShortestPathTable loadOrCompute(CampusGraph graph, File cacheFile) {
+        ShortestPathTable table = load(cacheFile, graph);
+        if (table != null) {
+            return table;
+        }
+
+        table = AllPairsShortestPaths.compute(graph);
+        store(cacheFile, graph, table);
+        return table;
+    }
+
+    /**
+     * Read the cached tables if the file exists and was written for this exact graph
+     * @return The table, or null when the file is missing, stale or corrupt
+     */
+    public static ShortestPathTable load(File cacheFile, CampusGraph graph) {
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+
+        int n = graph.size();
+        long expectedBytes = HEADER_BYTES + (long) n * n * (Double.BYTES + Integer.BYTES);
+
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() != expectedBytes) {
+                return null;
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedBytes);
+            if (buffer.getInt() != FILE_MAGIC || buffer.getInt() != FORMAT_VERSION
+                    || buffer.getLong() != graph.getVersion() || buffer.getInt() != n) {
+                return null;
+            }
+
+            double[] distances = new double[n * n];
+            int[] nextHop = new int[n * n];
+            buffer.asDoubleBuffer().get(distances);
+            buffer.position(buffer.position() + distances.length * Double.BYTES);
+            buffer.asIntBuffer().get(nextHop);
+
+            return new ShortestPathTable(graph.getLocations(), distances, nextHop);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable APSP cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write the tables for this graph, replacing any previous cache atomically
+     */
+    public static void store(File cacheFile, CampusGraph graph, ShortestPathTable table) {
+        int n = graph.size();
+        double[] distances = table.getDistanceArray();
+        int[] nextHop = table.getNextHopArray();
+
+        File parent = cacheFile.getAbsoluteFile().getParentFile();
+        File tempFile = new File(parent, cacheFile.getName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(FILE_MAGIC).putInt(FORMAT_VERSION).putLong(graph.getVersion()).putInt(n);
+            header.flip();
+            writeFully(channel, header);
+
+            ByteBuffer body = ByteBuffer.allocate(n * Math.max(Double.BYTES, Integer.BYTES));
+            for (int row = 0; row < n; row++) {
+                body.clear();
+                body.asDoubleBuffer().put(distances, row * n, n);
+                body.limit(n * Double.BYTES);
+                writeFully(channel, body);
+            }
+            for (int row = 0; row < n; row++) {
+                body.clear();
+                body.asIntBuffer().put(nextHop, row * n, n);
+                body.limit(n * Integer.BYTES);
+                writeFully(channel, body);
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing APSP cache: " + e.getMessage());
+            tempFile.delete();
+            return;
+        }
+
+        try {
+            try {
+                Files.move(tempFile.toPath(), cacheFile.toPath(),
+                           StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing APSP cache: " + e.getMessage());
+            tempFile.delete();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Precomputed all-pairs shortest distances plus a next-hop matrix.
+ * Once built, every route is a table walk: the path from i to j is
+ * i, next(i,j), next(next(i,j),j), ... which takes O(path length) with no search.
+ */
+public class ShortestPathTable implements DistanceOracle {
+
+    private final String[] locations;
+    private final int n;
+    private final double[] distances; // row-major n x n
+    private final int[] nextHop;      // row-major n x n, -1 when unreachable
+
+    public ShortestPathTable(String[] locations, double[] distances, int[] nextHop) {
+        this.locations = locations;
+        this.n = locations.length;
+        this.distances = distances;
+        this.nextHop = nextHop;
+    }
+
+    /**
+     * Next hops before any relaxation: the direct walkway when there is one
+     * @param weights Row-major edge weights with INFINITY for missing edges
+     */
+    static int[] initialNextHops(double[] weights, int n) {
+        int[] nextHop = new int[n * n];
+        for (int i = 0; i < n; i++) {
+            int row = i * n;
+            for (int j = 0; j < n; j++) {
+                if (i == j) {
+                    nextHop[row + j] = i;
+                } else {
+                    nextHop[row + j] = (weights[row + j] != Double.POSITIVE_INFINITY) ? j : -1;
+                }
+            }
+        }
+        return nextHop;
+    }
+
+    @Override
+    public double getDistance(int from, int to) {
+        return distances[from * n + to];
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    /**
+     * @return First location after 'from' on the shortest path to 'to', or -1 if unreachable
+     */
+    public int getNextHop(int from, int to) {
+        return nextHop[from * n + to];
+    }
+
+    public String[] getLocations() {
+        return locations;
+    }
+
+    // Raw row-major storage, shared with the on-disk cache
+
+    double[] getDistanceArray() {
+        return distances;
+    }
+
+    int[] getNextHopArray() {
+        return nextHop;
+    }
+
+    /**
+     * Walk the next-hop matrix from one location to another
+     * @return Location indices along the shortest path (both ends included), or null if unreachable
+     */
+    public int[] reconstructPath(int from, int to) {
+        if (nextHop[from * n + to] == -1) {
+            return null;
+        }
+
+        int length = 1;
+        for (int v = from; v != to; v = nextHop[v * n + to]) {
+            if (++length > n) return null; // inconsistent table, never loop forever
+        }
+
+        int[] path = new int[length];
+        int v = from;
+        for (int i = 0; i < length; i++) {
+            path[i] = v;
+            v = nextHop[v * n + to];
+        }
+        return path;
+    }
+
+    /**
+     * Build the full shortest route between two named locations
+     * @return Route through every intermediate location, or null if unknown or unreachable
+     */
+    public Route getRoute(String startLocation, String endLocation) {
+        int[] indices = FloydWarshallAlgorithm.findLocationIndices(locations, startLocation, endLocation);
+        if (indices == null) {
+            return null;
+        }
+
+        return getRoute(indices[0], indices[1]);
+    }
+
+    /**
+     * Build the full shortest route between two location indices
+     * @return Route through every intermediate location, or null if unreachable or the same location
+     */
+    public Route getRoute(int from, int to) {
+        int[] path = reconstructPath(from, to);
+        if (path == null || path.length < 2) {
+            return null;
+        }
+
+        double[] segments = new double[path.length - 1];
+        for (int i = 1; i < path.length; i++) {
+            segments[i - 1] = getDistance(path[i - 1], path[i]);
+        }
+        return ReadCSV.buildPathRoute(locations, path, segments);
+    }
+
+    /**
+     * @return A copy of the distances as the n x n matrix the older APIs expect
+     */
+    public double[][] toDistanceMatrix() {
+        return FloydWarshallAlgorithm.toMatrix(distances, n);
+    }
+}
@@ -0,0 +1,153 @@
+import java.util.*;
+
+/**
+ * Student-flow assignment between residence halls and lecture venues as a transportation problem.
+ * Supply is the number of students leaving each hall, demand the seats at each venue, and the
+ * cost of a hall/venue pair is its shortest walking distance from the all-pairs table. An initial
+ * solution from Vogel or the Northwest Corner rule is improved to the minimum total student-km
+ * with MODI, and every used pair comes back with its walking route.
+ *
+ * Unequal totals are balanced with a dummy venue (students left unassigned) or a dummy hall
+ * (seats left empty) at zero cost.
+ */
+public class StudentFlowPlanner {
+
+    public enum InitialMethod { VOGEL, NORTHWEST_CORNER }
+
+    // Stand-in cost for pairs with no walking route; any flow on one is reported as unroutable
+    private static final double UNREACHABLE_COST = 1e6;
+
+    /**
+     * Students sent from one hall to one venue
+     */
+    public static class Flow {
+        public final String hall;
+        public final String venue;
+        public final int students;
+        public final double distance;
+        public final Route route; // null when hall and venue are the same place or unreachable
+
+        Flow(String hall, String venue, int students, double distance, Route route) {
+            this.hall = hall;
+            this.venue = venue;
+            this.students = students;
+            this.distance = distance;
+            this.route = route;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s -> %s: %d students, %.3f km", hall, venue, students, distance);
+        }
+    }
+
+    /**
+     * Optimal assignment plus how much the MODI step saved over the initial solution
+     */
+    public static class FlowPlan {
+        public final List<Flow> flows = new ArrayList<>();
+        public double initialStudentKm;   // cost of the VAM/Northwest Corner start
+        public double totalStudentKm;     // optimal walking distance summed over every routed student
+        public int unassignedStudents;
+        public int emptySeats;
+        public int unroutableStudents;
+    }
+
+    /**
+     * Plan the walking flows from halls to venues
+     * @param table All-pairs shortest paths over the campus
+     * @param hallSupply Students leaving each hall, by location name
+     * @param venueSeats Seats at each venue, by location name
+     * @param method Initial solution method
+     * @return The optimal plan, or null if a hall or venue name is unknown
+     */
+    public static FlowPlan plan(ShortestPathTable table, Map<String, Integer> hallSupply,
+                                Map<String, Integer> venueSeats, InitialMethod method) {
+        String[] locations = table.getLocations();
+        int[] halls = resolveAll(locations, hallSupply.keySet());
+        int[] venues = resolveAll(locations, venueSeats.keySet());
+        if (halls == null || venues == null) {
+            return null;
+        }
+
+        int[] supply = toArray(hallSupply.values());
+        int[] demand = toArray(venueSeats.values());
+        int totalSupply = sum(supply), totalDemand = sum(demand);
+
+        // Balance with a zero-cost dummy hall or venue
+        int m = halls.length + (totalDemand > totalSupply ? 1 : 0);
+        int n = venues.length + (totalSupply > totalDemand ? 1 : 0);
+        supply = Arrays.copyOf(supply, m);
+        demand = Arrays.copyOf(demand, n);
+        if (m > halls.length) supply[m - 1] = totalDemand - totalSupply;
+        if (n > venues.length) demand[n - 1] = totalSupply - totalDemand;
+
+        double[][] costs = new double[m][n];
+        for (int i = 0; i < halls.length; i++) {
+            for (int j = 0; j < venues.length; j++) {
+                double distance = table.getDistance(halls[i], venues[j]);
+                costs[i][j] = (distance == CampusGraph.INFINITY) ? UNREACHABLE_COST : distance;
+            }
+        }
+
+        OptimizationAlgorithms.SparseAllocation allocation = (method == InitialMethod.NORTHWEST_CORNER)
+            ? OptimizationAlgorithms.NorthwestCornerMethod.getInitialBasis(supply, demand)
+            : OptimizationAlgorithms.VogelApproximationMethod.solveBasis(supply, demand, costs);
+
+        FlowPlan plan = new FlowPlan();
+        plan.initialStudentKm = allocation.totalCost(costs);
+        OptimizationAlgorithms.ModifiedDistributionMethod.optimize(allocation, costs);
+
+        // Only basic cells can carry students
+        for (int i = 0; i < m; i++) {
+            for (int cell = allocation.firstInRow(i); cell != -1; cell = allocation.nextInRow(cell)) {
+                int j = allocation.getColumn(cell);
+                int students = allocation.getAmount(cell);
+                if (students == 0) continue;
+                if (i >= halls.length) {
+                    plan.emptySeats += students;
+                } else if (j >= venues.length) {
+                    plan.unassignedStudents += students;
+                } else if (costs[i][j] == UNREACHABLE_COST) {
+                    plan.unroutableStudents += students;
+                } else {
+                    String hall = locations[halls[i]], venue = locations[venues[j]];
+                    plan.flows.add(new Flow(hall, venue, students, costs[i][j], table.getRoute(halls[i], venues[j])));
+                    plan.totalStudentKm += students * costs[i][j];
+                }
+            }
+        }
+        return plan;
+    }
+
+    private static int[] resolveAll(String[] locations, Collection<String> names) {
+        int[] indices = new int[names.size()];
+        int k = 0;
+        for (String name : names) {
+            indices[k] = LocationSearchEngine.resolve(locations, name);
+            if (indices[k] == -1) {
+                System.out.println("Location not found: " + name);
+                return null;
+            }
+            k++;
+        }
+        return indices;
+    }
+
+    private static int[] toArray(Collection<Integer> values) {
+        int[] result = new int[values.size()];
+        int k = 0;
+        for (int value : values) {
+            result[k++] = value;
+        }
+        return result;
+    }
+
+    private static int sum(int[] values) {
+        int total = 0;
+        for (int value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
@@ -1,5 +1,6 @@
 import java.util.*;
 import java.io.*;
+import java.util.concurrent.*;
 
 /**
  * Comprehensive test suite demonstrating all implemented algorithms and features
@@ -34,6 +35,9 @@ public class UGNavigateTestSuite {
             // Test 7: Advanced Algorithm Performance
             testAdvancedAlgorithmPerformance();
             
+            // Test 8: Distance Oracles
+            testDistanceOracles();
+            
             System.out.println("\n🎉 ALL TESTS COMPLETED SUCCESSFULLY!");
             System.out.println("✅ All project requirements have been implemented and verified.");
             
@@ -47,7 +51,7 @@ public class UGNavigateTestSuite {
      * Test 1: Algorithm Implementation
      * Tests Vogel Approximation Method, Northwest Corner Method, Critical Path Method
      */
-    private static void testAlgorithmImplementation() {
+    private static void testAlgorithmImplementation() throws Exception {
         System.out.println("📋 TEST 1: ALGORITHM IMPLEMENTATION");
         System.out.println("===================================");
         
@@ -70,6 +74,63 @@ public class UGNavigateTestSuite {
         int[][] nwcResult = OptimizationAlgorithms.NorthwestCornerMethod.getInitialSolution(supply, demand);
         double nwcCost = OptimizationAlgorithms.NorthwestCornerMethod.calculateTotalCost(nwcResult, costs);
         System.out.printf("   ✓ NWC Total Cost: %.2f units\n", nwcCost);
+        OptimizationAlgorithms.SparseAllocation nwcBasis = 
+            OptimizationAlgorithms.NorthwestCornerMethod.getInitialBasis(supply, demand);
+        System.out.printf("   ✓ Sparse basis: %d cells (m + n - 1 = %d), same cost: %s\n", 
+                        nwcBasis.size(), supply.length + demand.length - 1,
+                        nwcBasis.size() == supply.length + demand.length - 1 
+                        && Math.abs(nwcBasis.totalCost(costs) - nwcCost) < 1e-9 ? "PASSED" : "FAILED");
+        
+        // Test MODI improvement from both starting solutions
+        System.out.println("🔹 Testing MODI Optimization...");
+        double modiFromVam = OptimizationAlgorithms.NorthwestCornerMethod.calculateTotalCost(
+            OptimizationAlgorithms.ModifiedDistributionMethod.optimize(vamResult, costs), costs);
+        double modiFromNwc = OptimizationAlgorithms.NorthwestCornerMethod.calculateTotalCost(
+            OptimizationAlgorithms.ModifiedDistributionMethod.optimize(nwcResult, costs), costs);
+        System.out.printf("   ✓ MODI Optimal Cost: %.2f units, same from VAM and NWC: %s\n", modiFromVam,
+                        Math.abs(modiFromVam - modiFromNwc) < 1e-9 && modiFromVam <= vamCost ? "PASSED" : "FAILED");
+        
+        // Test Student Flow Planning on campus distances
+        System.out.println("🔹 Testing Student Flow Planning...");
+        Map<String, Integer> hallSupply = new LinkedHashMap<>();
+        hallSupply.put("Commonwealth Hall", 120);
+        hallSupply.put("Legon Hall", 90);
+        hallSupply.put("Akuafo Hall", 150);
+        Map<String, Integer> venueSeats = new LinkedHashMap<>();
+        venueSeats.put("Balme Library", 100);
+        venueSeats.put("School of Engineering", 140);
+        venueSeats.put("Department of Computer Science", 150);
+        StudentFlowPlanner.FlowPlan flowPlan = StudentFlowPlanner.plan(
+            AllPairsShortestPaths.compute(loadAdjacencyMatrix()), hallSupply, venueSeats, 
+            StudentFlowPlanner.InitialMethod.NORTHWEST_CORNER);
+        boolean flowsOk = flowPlan != null && flowPlan.emptySeats == 30 
+                        && flowPlan.totalStudentKm <= flowPlan.initialStudentKm + 1e-9;
+        if (flowPlan != null) {
+            System.out.printf("   ✓ %d hall/venue flows, %.2f student-km (initial %.2f)\n", 
+                            flowPlan.flows.size(), flowPlan.totalStudentKm, flowPlan.initialStudentKm);
+        }
+        System.out.printf("   ✓ Flows balanced and no worse than the initial solution: %s\n", flowsOk ? "PASSED" : "FAILED");
+        
+        // Test Min-Cost Flow: without capacity limits it must match the transportation optimum
+        System.out.println("🔹 Testing Congestion-Aware Min-Cost Flow...");
+        CampusGraph campus = CampusGraph.fromAdjacencyMatrix(loadAdjacencyMatrix());
+        MinCostFlow.Result uncapped = new MinCostFlow(campus, Integer.MAX_VALUE).solve(hallSupply, venueSeats);
+        MinCostFlow capped = new MinCostFlow(campus, 40);
+        MinCostFlow.Result congested = capped.solve(hallSupply, venueSeats);
+        boolean withinCapacity = true;
+        for (int i = 0; i < campus.size(); i++) {
+            for (int j = 0; j < campus.size(); j++) {
+                withinCapacity &= congested.getFlow(i, j) <= capped.getCapacity(i, j);
+            }
+        }
+        boolean flowOk = flowPlan != null && Math.abs(uncapped.totalStudentKm - flowPlan.totalStudentKm) < 1e-6
+                       && congested.routedStudents == 360 && withinCapacity
+                       && congested.totalStudentKm >= uncapped.totalStudentKm - 1e-6;
+        System.out.printf("   ✓ Capacity 40: %d students over %d paths, %.2f student-km, %d walkways saturated\n",
+                        congested.routedStudents, congested.flows.size(), congested.totalStudentKm, 
+                        congested.saturatedWalkways);
+        System.out.printf("   ✓ Uncapacitated flow matches MODI optimum, capacities respected: %s\n", 
+                        flowOk ? "PASSED" : "FAILED");
         
         // Test Critical Path Method
         System.out.println("🔹 Testing Critical Path Method...");
@@ -78,6 +139,14 @@ public class UGNavigateTestSuite {
             OptimizationAlgorithms.CriticalPathMethod.findCriticalPath(activities);
         System.out.printf("   ✓ Critical Path Length: %d activities\n", criticalPath.size());
         
+        OptimizationAlgorithms.CriticalPathMethod.Activity setup = new OptimizationAlgorithms.CriticalPathMethod.Activity("Setup", 1);
+        OptimizationAlgorithms.CriticalPathMethod.Activity rehearse = new OptimizationAlgorithms.CriticalPathMethod.Activity("Rehearse", 2);
+        setup.addDependency(rehearse);
+        rehearse.addDependency(setup);
+        boolean cycleRejected = OptimizationAlgorithms.CriticalPathMethod.findCriticalPath(
+            Arrays.asList(setup, rehearse)).isEmpty();
+        System.out.printf("   ✓ Dependency cycle reported: %s\n", cycleRejected ? "PASSED" : "FAILED");
+        
         System.out.println("✅ Algorithm Implementation Tests Passed\n");
     }
     
@@ -110,6 +179,12 @@ public class UGNavigateTestSuite {
             String[] locations = adjacencyMatrix.get(0);
             double fwDistance = FloydWarshallAlgorithm.getShortestDistance(allPairsDistances, locations, startLocation, endLocation);
             System.out.printf("   ✓ Floyd-Warshall shortest distance: %.3f km\n", fwDistance);
+            
+            ShortestPathTable allPairsTable = FloydWarshallAlgorithm.findAllPairsWithPaths(adjacencyMatrix);
+            Route fwRoute = allPairsTable.getRoute(startLocation, endLocation);
+            boolean pathMatches = fwRoute != null && Math.abs(fwRoute.distance - fwDistance) < 1e-9;
+            System.out.printf("   ✓ Floyd-Warshall reconstructed path: %s (%s)\n", 
+                            fwRoute != null ? fwRoute.full_path : "none", pathMatches ? "PASSED" : "FAILED");
         }
         
         // Test A* Search Algorithm
@@ -152,7 +227,54 @@ public class UGNavigateTestSuite {
         System.out.println("🔹 Testing Multi-criteria Sorting...");
         Route[] multiSortRoutes = Arrays.copyOf(testRoutes, testRoutes.length);
         RouteSorter.sortByMultipleCriteria(multiSortRoutes);
-        System.out.printf("   ✓ Multi-criteria Sort: PASSED\n");
+        boolean multiSortCorrect = true;
+        for (int i = 1; i < multiSortRoutes.length; i++) {
+            Route previous = multiSortRoutes[i - 1], current = multiSortRoutes[i];
+            multiSortCorrect &= previous.distance < current.distance 
+                || (previous.distance == current.distance && previous.time_taken <= current.time_taken);
+        }
+        System.out.printf("   ✓ Multi-criteria Sort: %s\n", multiSortCorrect ? "PASSED" : "FAILED");
+        
+        // Test stability of the key-extracted sort: equal distances keep their input order
+        Route[] tiedRoutes = new Route[testRoutes.length * 2];
+        for (int i = 0; i < tiedRoutes.length; i++) {
+            tiedRoutes[i] = new Route(new StringBuilder("Route " + i), (i % 3) * 0.5, i);
+        }
+        RouteSorter.sortRoutes(tiedRoutes, "distance", false);
+        boolean stable = true;
+        for (int i = 1; i < tiedRoutes.length; i++) {
+            stable &= tiedRoutes[i - 1].distance > tiedRoutes[i].distance 
+                || tiedRoutes[i - 1].time_taken < tiedRoutes[i].time_taken;
+        }
+        System.out.printf("   ✓ Stable descending sort: %s\n", stable ? "PASSED" : "FAILED");
+        
+        // Test top-N selection: introselect and the streaming heap match a full sort truncated
+        Route[] manyRoutes = new Route[500];
+        Random random = new Random(49);
+        for (int i = 0; i < manyRoutes.length; i++) {
+            manyRoutes[i] = new Route(new StringBuilder("Route " + i), random.nextInt(40) * 0.1, random.nextInt(30));
+        }
+        RouteSorter.SortKey[] keys = {RouteSorter.SortKey.DISTANCE, RouteSorter.SortKey.TIME};
+        Route[] fullySorted = Arrays.copyOf(manyRoutes, manyRoutes.length);
+        RouteSorter.sortRoutes(fullySorted, keys, true);
+        RouteSorter.TopRoutes streamed = new RouteSorter.TopRoutes(keys, 7);
+        for (Route route : manyRoutes) {
+            streamed.offer(route);
+        }
+        boolean topNCorrect = Arrays.equals(RouteSorter.selectTopN(manyRoutes, keys, 7), Arrays.copyOf(fullySorted, 7))
+            && Arrays.equals(streamed.toSortedArray(), Arrays.copyOf(fullySorted, 7))
+            && RouteSorter.selectTopN(manyRoutes, keys, 1000).length == manyRoutes.length;
+        System.out.printf("   ✓ Top-N selection: %s\n", topNCorrect ? "PASSED" : "FAILED");
+        
+        // Test the ForkJoin mode on an array large enough to split: same order as the sequential sort
+        Route[] bulkRoutes = new Route[20000];
+        for (int i = 0; i < bulkRoutes.length; i++) {
+            bulkRoutes[i] = new Route(new StringBuilder("Route " + i), random.nextInt(200) * 0.05, random.nextInt(60));
+        }
+        Route[] sequential = Arrays.copyOf(bulkRoutes, bulkRoutes.length);
+        RouteSorter.sortRoutes(sequential, keys, false);
+        RouteSorter.parallelSortRoutes(bulkRoutes, keys, false);
+        System.out.printf("   ✓ Parallel merge sort: %s\n", Arrays.equals(sequential, bulkRoutes) ? "PASSED" : "FAILED");
         
         System.out.println("✅ Sorting Algorithm Tests Passed\n");
     }
@@ -183,6 +305,44 @@ public class UGNavigateTestSuite {
             adjacencyMatrix, "Balme Library", 0.5, "academic");
         System.out.printf("   ✓ Nearby academic landmarks: %d\n", nearbyLandmarks.size());
         
+        // Test Fuzzy Location Search
+        System.out.println("🔹 Testing Fuzzy Location Search...");
+        String[] queries = {"balme libary", "cs dept", "legon hall", "commonwelth"};
+        String[] expected = {"Balme Library Legon", "Department of Computer Science Legon", 
+                             "Legon Hall Legon", "Commonwealth Hall Legon"};
+        String[] searchLocations = adjacencyMatrix.get(0);
+        boolean fuzzyResolved = true;
+        for (int q = 0; q < queries.length; q++) {
+            int index = LocationSearchEngine.resolve(searchLocations, queries[q]);
+            fuzzyResolved &= index != -1 && searchLocations[index].equals(expected[q]);
+        }
+        System.out.printf("   ✓ Misspelled and abbreviated names resolved: %s\n", fuzzyResolved ? "PASSED" : "FAILED");
+        String[] rereadLocations = loadAdjacencyMatrix().get(0);
+        System.out.printf("   ✓ Reread location list reuses the shared engine: %s\n", 
+                        rereadLocations != searchLocations 
+                        && LocationSearchEngine.forLocations(rereadLocations) == LocationSearchEngine.forLocations(searchLocations) 
+                        ? "PASSED" : "FAILED");
+        
+        // Test Landmark Category Index
+        System.out.println("🔹 Testing Landmark Category Index...");
+        String[] locations = adjacencyMatrix.get(0);
+        LandmarkCategoryIndex categoryIndex = LandmarkCategoryIndex.forLocations(locations);
+        boolean bitsConsistent = true;
+        for (int c = 0; c < categoryIndex.getCategoryCount(); c++) {
+            int[] members = categoryIndex.getMembers(c);
+            int count = 0;
+            for (int i = 0; i < locations.length; i++) {
+                if (categoryIndex.isMember(c, i)) {
+                    bitsConsistent &= count < members.length && members[count++] == i;
+                }
+            }
+            bitsConsistent &= count == members.length;
+        }
+        System.out.printf("   ✓ %d categories, %d bank locations, bitsets match member lists: %s\n", 
+                        categoryIndex.getCategoryCount(), 
+                        categoryIndex.getMembers(categoryIndex.findCategory("ATM")).length,
+                        bitsConsistent ? "PASSED" : "FAILED");
+        
         System.out.println("✅ Searching Algorithm Tests Passed\n");
     }
     
@@ -206,6 +366,82 @@ public class UGNavigateTestSuite {
             System.out.printf("   ✓ %s routes found: %d\n", landmarkType, routes.size());
         }
         
+        // Test detour corridor against full shortest-path trees
+        System.out.println("🔹 Testing detour corridor search...");
+        CampusGraph graph = CampusGraph.fromAdjacencyMatrix(adjacencyMatrix);
+        int from = graph.indexOf("Commonwealth Hall"), to = graph.indexOf("Department of Computer Science");
+        DetourCorridor corridor = DetourCorridor.search(graph, from, to, 0.5);
+        double[] fromStart = new double[graph.size()], toEnd = new double[graph.size()];
+        int[] links = new int[graph.size()];
+        IndexedMinHeap heap = new IndexedMinHeap(graph.size());
+        GraphSearch.shortestPathTree(graph, from, fromStart, links, heap);
+        GraphSearch.reverseShortestPathTree(graph, to, toEnd, links, heap);
+        int expectedSize = 0;
+        boolean corridorMatches = true;
+        for (int l = 0; l < graph.size(); l++) {
+            double detour = fromStart[l] + toEnd[l] - fromStart[to];
+            if (detour <= 0.5) {
+                expectedSize++;
+                corridorMatches &= Math.abs(corridor.getDetour(l) - detour) < 1e-9;
+            }
+        }
+        corridorMatches &= corridor.size() == expectedSize;
+        System.out.printf("   ✓ %d locations within 0.5 km detour, %d of %d settled, matches full trees: %s\n", 
+                        corridor.size(), corridor.getSettledCount(), 2 * graph.size(),
+                        corridorMatches ? "PASSED" : "FAILED");
+        
+        // Test multi-stop errands: any dining spot, then any bank, then any library
+        System.out.println("🔹 Testing multi-stop errand routes...");
+        List<String> errands = Arrays.asList("dining", "bank", "library");
+        List<Route> fixedOrder = LandmarkSearch.searchRoutesWithCategories(
+            adjacencyMatrix, "Commonwealth Hall", "Department of Computer Science", errands, true);
+        List<Route> bestOrder = LandmarkSearch.searchRoutesWithCategories(
+            adjacencyMatrix, "Commonwealth Hall", "Department of Computer Science", errands, false);
+        boolean errandsFound = !fixedOrder.isEmpty() && !bestOrder.isEmpty();
+        if (errandsFound) {
+            System.out.printf("   ✓ Fixed order: %.3f km, best order: %.3f km\n", 
+                            fixedOrder.get(0).distance, bestOrder.get(0).distance);
+        }
+        System.out.printf("   ✓ Best order no longer than fixed order: %s\n", 
+                        errandsFound && bestOrder.get(0).distance <= fixedOrder.get(0).distance + 1e-9 
+                        ? "PASSED" : "FAILED");
+        
+        // The fixed order keeps every member, so it must match a brute force over all member choices
+        double[][] errandDistances = FloydWarshallAlgorithm.findAllPairsShortestPaths(adjacencyMatrix);
+        String[] names = adjacencyMatrix.get(0);
+        LandmarkCategoryIndex categories = LandmarkCategoryIndex.forLocations(names);
+        int home = LocationSearchEngine.resolve(names, "Commonwealth Hall");
+        int department = LocationSearchEngine.resolve(names, "Department of Computer Science");
+        double bruteForce = Double.POSITIVE_INFINITY;
+        for (int dining : categories.search("dining")) {
+            for (int bank : categories.search("bank")) {
+                for (int library : categories.search("library")) {
+                    bruteForce = Math.min(bruteForce, errandDistances[home][dining] + errandDistances[dining][bank] 
+                                          + errandDistances[bank][library] + errandDistances[library][department]);
+                }
+            }
+        }
+        System.out.printf("   ✓ Fixed order matches brute force: %s\n", 
+                        errandsFound && Math.abs(fixedOrder.get(0).distance - bruteForce) < 1e-9 ? "PASSED" : "FAILED");
+        
+        // At the free-order limit the per-stop cap shrinks so the bitmask DP stays within its budget
+        boolean withinBudget = true;
+        for (int stops = 1; stops <= ErrandRouter.MAX_FREE_ORDER_STOPS; stops++) {
+            long slots = (long) stops * ErrandRouter.candidatesPerStop(stops);
+            withinBudget &= (1L << stops) * slots * slots <= ErrandRouter.FREE_ORDER_TRANSITION_BUDGET;
+        }
+        List<String> manyErrands = new ArrayList<>();
+        for (int stop = 0; stop < ErrandRouter.MAX_FREE_ORDER_STOPS; stop++) {
+            manyErrands.add(stop % 2 == 0 ? "residence" : "academic");
+        }
+        long limitStart = System.nanoTime();
+        Route manyStops = ErrandRouter.findErrandRoute(CampusGraph.fromAdjacencyMatrix(adjacencyMatrix), 
+            "Commonwealth Hall", "Department of Computer Science", manyErrands, false);
+        long limitMillis = (System.nanoTime() - limitStart) / 1_000_000;
+        System.out.printf("   ✓ %d free-order stops (%d candidates each) in %d ms: %s\n", 
+                        manyErrands.size(), ErrandRouter.candidatesPerStop(manyErrands.size()), limitMillis,
+                        withinBudget && manyStops != null ? "PASSED" : "FAILED");
+        
         System.out.println("✅ Landmark-based Route Generation Tests Passed\n");
     }
     
@@ -236,6 +472,18 @@ public class UGNavigateTestSuite {
         UGRouteNavigator.RouteResults dpResults = navigator.findOptimalRoutes(start, end, dpPrefs);
         System.out.printf("   ✓ DP-optimized routes found: %d\n", dpResults.routes.size());
         
+        // Strategies interrupted at the deadline must hand their pool threads back for the next query
+        System.out.println("🔹 Testing Query Deadline Cancellation...");
+        Thread.currentThread().interrupt();
+        boolean interruptedSearchStops = DijkstraAlgorithm.findShortestPath(adjacencyMatrix, start, end) == null;
+        Thread.interrupted();
+        UGRouteNavigator.RoutePreferences expiredPrefs = new UGRouteNavigator.RoutePreferences();
+        expiredPrefs.queryTimeoutMillis = 0;
+        navigator.findOptimalRoutes(start, end, expiredPrefs);
+        UGRouteNavigator.RouteResults afterCancel = navigator.findOptimalRoutes(start, end, dpPrefs);
+        System.out.printf("   ✓ Interrupted strategies stop, next query unaffected: %s\n", 
+                        interruptedSearchStops && afterCancel.routes.size() == dpResults.routes.size() ? "PASSED" : "FAILED");
+        
         // Test Divide and Conquer (A* algorithm uses divide and conquer principles)
         System.out.println("🔹 Testing Divide and Conquer (A* implementation)...");
         Route aStarRoute = AStarAlgorithm.findOptimalPath(adjacencyMatrix, start, end);
@@ -295,6 +543,231 @@ public class UGNavigateTestSuite {
         System.out.println("✅ Advanced Algorithm Performance Tests Passed\n");
     }
     
+    /**
+     * Test 8: Distance Oracles
+     * Checks hub labeling answers against Floyd-Warshall and its on-disk round trip
+     */
+    private static void testDistanceOracles() throws Exception {
+        System.out.println("🧭 TEST 8: DISTANCE ORACLES");
+        System.out.println("===========================");
+        
+        List<String[]> adjacencyMatrix = loadAdjacencyMatrix();
+        CampusGraph graph = CampusGraph.fromAdjacencyMatrix(adjacencyMatrix);
+        double[][] fwDistances = FloydWarshallAlgorithm.findAllPairsShortestPaths(adjacencyMatrix);
+        
+        System.out.println("🔹 Testing Blocked Floyd-Warshall...");
+        double[][] classicDistances = FloydWarshallAlgorithm.toMatrix(graph.copyWeightMatrix(), graph.size());
+        FloydWarshallAlgorithm.findAllPairsShortestPathsClassic(classicDistances);
+        System.out.printf("   ✓ Matches classic triple loop: %s\n", 
+                        APSPBenchmark.maxDifference(classicDistances, FloydWarshallAlgorithm.toFlat(fwDistances)) < 1e-9 
+                        ? "PASSED" : "FAILED");
+        
+        double[] parallelDistances = graph.copyWeightMatrix();
+        FloydWarshallAlgorithm.findAllPairsShortestPathsParallel(parallelDistances, graph.size(), 4);
+        System.out.printf("   ✓ Parallel blocked matches serial: %s\n", 
+                        Arrays.equals(parallelDistances, FloydWarshallAlgorithm.toFlat(fwDistances)) ? "PASSED" : "FAILED");
+        
+        ShortestPathTable dijkstraTable = AllPairsShortestPaths.compute(graph, 
+            AllPairsShortestPaths.Engine.REPEATED_DIJKSTRA, 4);
+        System.out.printf("   ✓ Repeated Dijkstra matches Floyd-Warshall: %s (auto engine: %s)\n", 
+                        matchesAllPairs(dijkstraTable, fwDistances) ? "PASSED" : "FAILED",
+                        AllPairsShortestPaths.chooseEngine(graph));
+        
+        System.out.println("🔹 Testing Incremental All-Pairs Updates...");
+        CampusGraph editableGraph = CampusGraph.fromAdjacencyMatrix(adjacencyMatrix);
+        IncrementalShortestPaths incremental = new IncrementalShortestPaths(editableGraph, 
+            FloydWarshallAlgorithm.findAllPairsWithPaths(editableGraph));
+        int from = editableGraph.indexOf("Department of Computer Science");
+        int to = editableGraph.indexOf("Balme Library");
+        editableGraph.setEdgeWeight(from, to, 0);       // walkway closed
+        editableGraph.setEdgeWeight(to, from, 0.05);    // shortcut opened
+        double[][] rebuilt = FloydWarshallAlgorithm.findAllPairsWithPaths(editableGraph).toDistanceMatrix();
+        System.out.printf("   ✓ Incremental table matches full rebuild: %s (%d rows recomputed)\n", 
+                        matchesAllPairs(incremental.getTable(), rebuilt) ? "PASSED" : "FAILED",
+                        incremental.getRowsRecomputed());
+        
+        System.out.println("🔹 Testing All-Pairs Cache...");
+        File cacheDirectory = java.nio.file.Files.createTempDirectory("apsp-cache").toFile();
+        File cacheFile = ShortestPathCache.cacheFileFor(new File(cacheDirectory, "Addresses.csv"));
+        cacheFile.deleteOnExit();
+        cacheDirectory.deleteOnExit();
+        ShortestPathCache.loadOrCompute(graph, cacheFile);
+        ShortestPathTable cached = ShortestPathCache.load(cacheFile, graph);
+        System.out.printf("   ✓ Stored next to the data file, round trip matches: %s\n", 
+                        cacheFile.getParentFile().equals(cacheDirectory.getAbsoluteFile()) 
+                        && cached != null && matchesAllPairs(cached, fwDistances) ? "PASSED" : "FAILED");
+        // editableGraph has a closed walkway and a new shortcut, so its hash differs
+        System.out.printf("   ✓ Stale graph hash rejected: %s\n", 
+                        ShortestPathCache.load(cacheFile, editableGraph) == null ? "PASSED" : "FAILED");
+        try (RandomAccessFile truncated = new RandomAccessFile(cacheFile, "rw")) {
+            truncated.setLength(truncated.length() / 2);
+        }
+        System.out.printf("   ✓ Truncated file rejected: %s\n", 
+                        ShortestPathCache.load(cacheFile, graph) == null ? "PASSED" : "FAILED");
+        
+        System.out.println("🔹 Testing Walkway Updates Under Concurrent Queries...");
+        UGRouteNavigator navigator = new UGRouteNavigator();
+        String cs = "Department of Computer Science", balme = "Balme Library";
+        double openDistance = navigator.getShortestRoute(cs, balme).distance;
+        String openCell = adjacencyMatrix.get(from)[to];
+        navigator.updateWalkway(cs, balme, 0);
+        double closedDistance = navigator.getShortestRoute(cs, balme).distance;
+        Thread toggler = new Thread(() -> {
+            for (int i = 0; i < 200; i++) {
+                navigator.updateWalkway(cs, balme, (i % 2 == 0) ? Double.parseDouble(openCell) : 0);
+            }
+        });
+        toggler.start();
+        boolean consistent = true;
+        while (toggler.isAlive()) {
+            Route route = navigator.getShortestRoute(cs, balme);
+            consistent &= route != null 
+                && (Math.abs(route.distance - openDistance) < 1e-9 || Math.abs(route.distance - closedDistance) < 1e-9);
+        }
+        toggler.join();
+        System.out.printf("   ✓ Queries see whole updates only: %s\n", consistent ? "PASSED" : "FAILED");
+        System.out.printf("   ✓ Header column rejected: %s\n", 
+                        !navigator.updateWalkway("Address", balme, 0.1) ? "PASSED" : "FAILED");
+        
+        System.out.println("🔹 Testing Hub Labeling Oracle...");
+        long startTime = System.nanoTime();
+        HubLabelingOracle hubLabels = HubLabelingOracle.build(graph);
+        long buildTime = System.nanoTime() - startTime;
+        System.out.printf("   ✓ Built in %d ms, average label size %.1f hubs\n", 
+                        buildTime / 1000000, hubLabels.getAverageLabelSize());
+        System.out.printf("   ✓ Matches Floyd-Warshall: %s\n", 
+                        matchesAllPairs(hubLabels, fwDistances) ? "PASSED" : "FAILED");
+        
+        File labelFile = File.createTempFile("hub-labels", ".bin");
+        labelFile.deleteOnExit();
+        hubLabels.writeTo(labelFile);
+        HubLabelingOracle reloaded = HubLabelingOracle.readFrom(labelFile, graph.getVersion());
+        System.out.printf("   ✓ Serialized round trip: %s\n", 
+                        reloaded != null && matchesAllPairs(reloaded, fwDistances) ? "PASSED" : "FAILED");
+        
+        double hubDistance = hubLabels.getShortestDistance(graph.getLocations(), 
+                                                           "Department of Computer Science", "Balme Library");
+        System.out.printf("   ✓ Hub label shortest distance: %.3f km\n", hubDistance);
+        
+        System.out.println("🔹 Testing Lazy Distance Oracle...");
+        // Room for 8 rows; the full table is built once 20 sources have been seen
+        LazyDistanceOracle lazyOracle = new LazyDistanceOracle(graph, 8L * graph.size() * Double.BYTES, 20);
+        boolean lazyMatches = matchesAllPairs(lazyOracle, fwDistances);
+        System.out.printf("   ✓ On-demand rows match Floyd-Warshall: %s (cache limit %d rows)\n", 
+                        lazyMatches ? "PASSED" : "FAILED", lazyOracle.getMaxCachedRows());
+        System.out.printf("   ✓ Background upgrade to full table: %s\n", 
+                        lazyOracle.awaitFullTable(10000) && matchesAllPairs(lazyOracle, fwDistances) ? "PASSED" : "FAILED");
+        lazyOracle.detach();
+        
+        // Cache hits are lock-free: readers racing with misses and evictions still see whole rows
+        LazyDistanceOracle sharedOracle = new LazyDistanceOracle(graph, 4L * graph.size() * Double.BYTES, Integer.MAX_VALUE);
+        List<Future<Boolean>> readers = new ArrayList<>();
+        ExecutorService readerPool = Executors.newFixedThreadPool(4);
+        for (int r = 0; r < 4; r++) {
+            readers.add(readerPool.submit(() -> matchesAllPairs(sharedOracle, fwDistances)));
+        }
+        boolean concurrentReadsMatch = true;
+        for (Future<Boolean> reader : readers) {
+            concurrentReadsMatch &= reader.get();
+        }
+        readerPool.shutdown();
+        sharedOracle.detach();
+        System.out.printf("   ✓ Concurrent readers match Floyd-Warshall: %s (%d rows cached)\n", 
+                        concurrentReadsMatch ? "PASSED" : "FAILED", sharedOracle.getCachedRowCount());
+        
+        System.out.println("🔹 Testing Lazy Navigator Startup...");
+        File startupDirectory = java.nio.file.Files.createTempDirectory("lazy-startup").toFile();
+        File startupData = new File(startupDirectory, "Addresses.csv");
+        java.nio.file.Files.copy(new File("Scrapper/Addresses.csv").toPath(), startupData.toPath());
+        File startupCache = ShortestPathCache.cacheFileFor(startupData);
+        startupData.deleteOnExit();
+        startupCache.deleteOnExit();
+        startupDirectory.deleteOnExit();
+        UGRouteNavigator lazyNavigator = new UGRouteNavigator(startupData);
+        boolean startedLazy = !lazyNavigator.isAllPairsTableLoaded();
+        int library = graph.indexOf("Balme Library");
+        int engineering = graph.indexOf("School of Engineering");
+        Route lazyRoute = lazyNavigator.getShortestRoute("Balme Library", "School of Engineering");
+        boolean lazyQueriesMatch = lazyRoute != null 
+            && Math.abs(lazyRoute.distance - fwDistances[library][engineering]) < 1e-9
+            && lazyNavigator.findLocationsWithinDistance("Balme Library", 0.5).size() 
+               == FloydWarshallAlgorithm.findLocationsWithinDistance(fwDistances, graph.getLocations(), "Balme Library", 0.5).size()
+            && !lazyNavigator.isAllPairsTableLoaded();
+        Map<String, Integer> startupHalls = new LinkedHashMap<>();
+        startupHalls.put("Legon Hall", 40);
+        Map<String, Integer> startupVenues = new LinkedHashMap<>();
+        startupVenues.put("Balme Library", 40);
+        boolean builtOnDemand = lazyNavigator.planStudentFlows(startupHalls, startupVenues, true) != null
+            && lazyNavigator.isAllPairsTableLoaded() && startupCache.isFile()
+            && new UGRouteNavigator(startupData).isAllPairsTableLoaded();
+        System.out.printf("   ✓ No cache: starts without the all-pairs table: %s\n", startedLazy ? "PASSED" : "FAILED");
+        System.out.printf("   ✓ Route and range queries answered from on-demand rows: %s\n", 
+                        lazyQueriesMatch ? "PASSED" : "FAILED");
+        System.out.printf("   ✓ Table built and cached on first full use: %s\n", builtOnDemand ? "PASSED" : "FAILED");
+        
+        System.out.println("🔹 Testing Distance Range Index...");
+        DistanceRangeIndex rangeIndex = new DistanceRangeIndex(FloydWarshallAlgorithm.findAllPairsWithPaths(graph));
+        List<String> scanned = FloydWarshallAlgorithm.findLocationsWithinDistance(
+            fwDistances, graph.getLocations(), "Balme Library", 0.5);
+        List<String> indexed = FloydWarshallAlgorithm.findLocationsWithinDistance(
+            rangeIndex, graph.getLocations(), "Balme Library", 0.5);
+        System.out.printf("   ✓ Within 0.5 km of Balme Library: %d locations, matches row scan: %s\n", 
+                        indexed.size(), new HashSet<>(scanned).equals(new HashSet<>(indexed)) ? "PASSED" : "FAILED");
+        
+        
+        System.out.println("🔹 Testing Nearest Facility Table...");
+        NearestFacilityTable facilities = new NearestFacilityTable(graph, 
+            LandmarkCategoryIndex.forLocations(graph.getLocations()), NearestFacilityTable.DEFAULT_K);
+        System.out.printf("   ✓ k-nearest members match all-pairs distances: %s\n", 
+                        matchesNearestFacilities(facilities, fwDistances) ? "PASSED" : "FAILED");
+        
+        System.out.println("✅ Distance Oracle Tests Passed\n");
+    }
+    
+    /**
+     * Every location's k nearest members per category, compared with a sort of its all-pairs row
+     */
+    private static boolean matchesNearestFacilities(NearestFacilityTable table, double[][] expected) {
+        LandmarkCategoryIndex categories = table.getCategories();
+        for (int c = 0; c < categories.getCategoryCount(); c++) {
+            int[] members = categories.getMembers(c);
+            for (int v = 0; v < expected.length; v++) {
+                double[] memberDistances = new double[members.length];
+                for (int m = 0; m < members.length; m++) {
+                    memberDistances[m] = expected[v][members[m]];
+                }
+                Arrays.sort(memberDistances);
+                int[] nearest = table.getNearestMembers(v, c);
+                int reachable = 0;
+                while (reachable < memberDistances.length && memberDistances[reachable] != Double.POSITIVE_INFINITY) {
+                    reachable++;
+                }
+                if (nearest.length != Math.min(table.getK(), reachable)) {
+                    return false;
+                }
+                for (int rank = 0; rank < nearest.length; rank++) {
+                    if (Math.abs(table.getDistance(v, c, rank) - memberDistances[rank]) > 1e-9
+                        || Math.abs(expected[v][nearest[rank]] - memberDistances[rank]) > 1e-9) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+    
+    private static boolean matchesAllPairs(DistanceOracle oracle, double[][] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected.length; j++) {
+                double actual = oracle.getDistance(i, j);
+                if (actual != expected[i][j] && Math.abs(actual - expected[i][j]) > 1e-9) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
     // Helper methods
     
     private static List<OptimizationAlgorithms.CriticalPathMethod.Activity> createSampleActivities() {
@@ -1,4 +1,7 @@
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
+import java.util.function.Supplier;
 import java.io.*;
 
 /**
@@ -7,28 +10,93 @@ import java.io.*;
  */
 public class UGRouteNavigator {
     
+    // Bounded pool shared by all queries; daemon threads so the GUI and CLI can exit normally
+    private static final ExecutorService STRATEGY_EXECUTOR = Executors.newFixedThreadPool(
+        Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "route-strategy");
+            thread.setDaemon(true);
+            return thread;
+        });
+    
+    private static final File CAMPUS_DATA_FILE = new File("Scrapper/Addresses.csv");
+    
     private List<String[]> adjacencyMatrix;
     private String[] locations;
-    private double[][] floydWarshallDistances;
+    private CampusGraph campusGraph;
+    private File cacheFile;
+    private volatile ShortestPathTable allPairsTable; // null until loaded from the cache or first needed
+    private LazyDistanceOracle lazyDistances;         // on-demand rows when startup found no valid cache
+    private IncrementalShortestPaths incrementalPaths;
+    private DistanceRangeIndex rangeIndex;
+    private NearestFacilityTable nearestFacilities;
+    
+    // Queries hold the read lock while they look at the matrix, graph and tables; walkway updates rewrite them under the write lock
+    private final ReadWriteLock campusLock = new ReentrantReadWriteLock();
     
     /**
      * Constructor - loads the campus data
      */
     public UGRouteNavigator() {
-        loadCampusData();
+        this(CAMPUS_DATA_FILE);
+    }
+    
+    /**
+     * Load the campus from an adjacency matrix CSV; the all-pairs cache is kept next to it
+     */
+    UGRouteNavigator(File dataFile) {
+        loadCampusData(dataFile);
         if (adjacencyMatrix != null && !adjacencyMatrix.isEmpty()) {
             locations = adjacencyMatrix.get(0);
-            // Pre-compute Floyd-Warshall distances for efficiency
-            floydWarshallDistances = FloydWarshallAlgorithm.findAllPairsShortestPaths(adjacencyMatrix);
+            campusGraph = CampusGraph.fromAdjacencyMatrix(adjacencyMatrix);
+            cacheFile = ShortestPathCache.cacheFileFor(dataFile);
+            // A valid cache gives the full table at once. Without one, startup does no all-pairs work:
+            // distances come from Dijkstra rows per queried source, and the table is built on first need.
+            ShortestPathTable cached = ShortestPathCache.load(cacheFile, campusGraph);
+            if (cached != null) {
+                trackAllPairsTable(cached);
+                // Sorted per-source rows for "within X km" queries, built on first use
+                rangeIndex = new DistanceRangeIndex(cached);
+            } else {
+                lazyDistances = new LazyDistanceOracle(campusGraph);
+                rangeIndex = new DistanceRangeIndex(lazyDistances);
+            }
+        }
+    }
+    
+    /**
+     * Keep the table current as walkways close or open
+     */
+    private void trackAllPairsTable(ShortestPathTable table) {
+        incrementalPaths = new IncrementalShortestPaths(campusGraph, table);
+        allPairsTable = table;
+    }
+    
+    /**
+     * The all-pairs table, computed and written to the cache on first use if startup had none.
+     * Callers hold the read lock, so the graph cannot change while it is built.
+     */
+    private synchronized ShortestPathTable getAllPairsTable() {
+        if (allPairsTable == null && campusGraph != null) {
+            ShortestPathTable table = AllPairsShortestPaths.compute(campusGraph);
+            ShortestPathCache.store(cacheFile, campusGraph, table);
+            trackAllPairsTable(table);
         }
+        return allPairsTable;
+    }
+    
+    /**
+     * @return true once the all-pairs table is in memory (from the cache or built on demand)
+     */
+    boolean isAllPairsTableLoaded() {
+        return allPairsTable != null;
     }
     
     /**
      * Load campus adjacency matrix from CSV file
      */
-    private void loadCampusData() {
+    private void loadCampusData(File dataFile) {
         try {
-            com.opencsv.CSVReader reader = new com.opencsv.CSVReader(new FileReader("Scrapper/Addresses.csv"));
+            com.opencsv.CSVReader reader = new com.opencsv.CSVReader(new FileReader(dataFile));
             adjacencyMatrix = reader.readAll();
             reader.close();
             System.out.println("Campus data loaded successfully. Total locations: " + 
@@ -48,98 +116,175 @@ public class UGRouteNavigator {
      */
     public RouteResults findOptimalRoutes(String startLocation, String endLocation, RoutePreferences preferences) {
         RouteResults results = new RouteResults();
-        List<Route> allRoutes = new ArrayList<>();
         
         System.out.println("\\n🔍 Finding optimal routes from " + startLocation + " to " + endLocation);
         System.out.println("===============================================================");
         
+        // Build the algorithm portfolio; every strategy runs concurrently on the shared executor
+        List<String> strategyNames = new ArrayList<>();
+        List<Callable<List<Route>>> strategies = new ArrayList<>();
+        
         // 1. Dijkstra's Algorithm - Shortest Path
-        System.out.println("1. Applying Dijkstra's Algorithm...");
-        Route dijkstraRoute = DijkstraAlgorithm.findShortestPath(adjacencyMatrix, startLocation, endLocation);
-        if (dijkstraRoute != null) {
-            dijkstraRoute.algorithmUsed = "Dijkstra's Algorithm";
-            allRoutes.add(dijkstraRoute);
-            System.out.println("   ✓ Shortest path found: " + dijkstraRoute.distance + " km");
-        }
+        strategyNames.add("Dijkstra's Algorithm");
+        strategies.add(() -> singleRoute(
+            DijkstraAlgorithm.findShortestPath(adjacencyMatrix, startLocation, endLocation), "Dijkstra's Algorithm"));
         
         // 2. A* Algorithm - Optimal with Heuristics
-        System.out.println("2. Applying A* Search Algorithm...");
-        Route aStarRoute = AStarAlgorithm.findOptimalPath(adjacencyMatrix, startLocation, endLocation);
-        if (aStarRoute != null) {
-            aStarRoute.algorithmUsed = "A* Search Algorithm";
-            allRoutes.add(aStarRoute);
-            System.out.println("   ✓ Heuristic-optimized path found: " + aStarRoute.distance + " km");
+        strategyNames.add("A* Search Algorithm");
+        strategies.add(() -> singleRoute(
+            AStarAlgorithm.findOptimalPath(adjacencyMatrix, startLocation, endLocation), "A* Search Algorithm"));
+        
+        // 2b. Floyd-Warshall table walk - no search once the table is precomputed
+        if (allPairsTable != null) {
+            strategyNames.add("Floyd-Warshall Algorithm");
+            strategies.add(() -> singleRoute(getShortestRoute(startLocation, endLocation), "Floyd-Warshall Algorithm"));
         }
         
         // 3. Greedy Algorithm Approach
-        System.out.println("3. Applying Greedy Algorithm...");
-        Route greedyRoute = generateGreedyRoute(startLocation, endLocation);
-        if (greedyRoute != null) {
-            greedyRoute.algorithmUsed = "Greedy Algorithm";
-            allRoutes.add(greedyRoute);
-            System.out.println("   ✓ Greedy path found: " + greedyRoute.distance + " km");
-        }
+        strategyNames.add("Greedy Algorithm");
+        strategies.add(() -> singleRoute(generateGreedyRoute(startLocation, endLocation), "Greedy Algorithm"));
         
         // 4. Dynamic Programming Approach
-        System.out.println("4. Applying Dynamic Programming...");
-        Route dpRoute = generateDynamicProgrammingRoute(startLocation, endLocation);
-        if (dpRoute != null) {
-            dpRoute.algorithmUsed = "Dynamic Programming";
-            allRoutes.add(dpRoute);
-            System.out.println("   ✓ DP-optimized path found: " + dpRoute.distance + " km");
-        }
+        strategyNames.add("Dynamic Programming");
+        strategies.add(() -> singleRoute(generateDynamicProgrammingRoute(startLocation, endLocation), "Dynamic Programming"));
         
-        // 5. Optimization Methods
+        // 5. Optimization Methods; both run on Dijkstra/A*, whose search loops check for interruption
         if (preferences.useOptimizationMethods) {
-            System.out.println("5. Applying Optimization Methods...");
+            strategyNames.add("Vogel Approximation Method");
+            strategies.add(() -> singleRoute(OptimizationAlgorithms.applyOptimization(adjacencyMatrix, 
+                startLocation, endLocation, "vogel"), "Vogel Approximation Method"));
             
-            Route vogelRoute = OptimizationAlgorithms.applyOptimization(adjacencyMatrix, 
-                                                                       startLocation, endLocation, "vogel");
-            if (vogelRoute != null) {
-                vogelRoute.algorithmUsed = "Vogel Approximation Method";
-                allRoutes.add(vogelRoute);
-            }
-            
-            Route criticalPathRoute = OptimizationAlgorithms.applyOptimization(adjacencyMatrix, 
-                                                                              startLocation, endLocation, "critical_path");
-            if (criticalPathRoute != null) {
-                criticalPathRoute.algorithmUsed = "Critical Path Method";
-                allRoutes.add(criticalPathRoute);
-            }
+            strategyNames.add("Critical Path Method");
+            strategies.add(() -> singleRoute(OptimizationAlgorithms.applyOptimization(adjacencyMatrix, 
+                startLocation, endLocation, "critical_path"), "Critical Path Method"));
         }
         
         // 6. Landmark-based routes if specified
         if (preferences.landmark != null && !preferences.landmark.isEmpty()) {
-            System.out.println("6. Finding routes through landmark: " + preferences.landmark);
-            List<Route> landmarkRoutes = LandmarkSearch.searchRoutesWithLandmark(
-                adjacencyMatrix, startLocation, endLocation, preferences.landmark, preferences.maxDetourDistance);
-            
-            for (Route route : landmarkRoutes) {
-                route.algorithmUsed = "Landmark-based Search";
-            }
-            allRoutes.addAll(landmarkRoutes);
+            strategyNames.add("Landmark-based Search");
+            strategies.add(() -> {
+                List<Route> landmarkRoutes = LandmarkSearch.searchRoutesWithLandmark(
+                    campusGraph, startLocation, endLocation, preferences.landmark, preferences.maxDetourDistance);
+                for (Route route : landmarkRoutes) {
+                    route.algorithmUsed = "Landmark-based Search";
+                }
+                return landmarkRoutes;
+            });
         }
         
+        List<Route> allRoutes = runStrategies(strategyNames, strategies, preferences.queryTimeoutMillis);
+        
         // Remove duplicates and null routes
         allRoutes.removeIf(Objects::isNull);
         allRoutes = removeDuplicateRoutes(allRoutes);
         
-        // Sort routes based on preferences
-        sortRoutesByPreferences(allRoutes, preferences);
-        
-        // Select top routes
-        int maxRoutes = Math.min(preferences.maxRoutes, allRoutes.size());
-        results.routes = new ArrayList<>(allRoutes.subList(0, maxRoutes));
+        // Select the top routes based on preferences without sorting the rest
+        results.routes = RouteSorter.selectTopN(allRoutes, preferenceKeys(preferences), preferences.maxRoutes);
+        int selectedCount = results.routes.size();
         results.totalRoutesFound = allRoutes.size();
         results.algorithmsSummary = generateAlgorithmsSummary(results.routes);
         
         System.out.println("\\n📊 Route Analysis Complete:");
         System.out.println("   Total routes found: " + results.totalRoutesFound);
-        System.out.println("   Top " + maxRoutes + " routes selected based on preferences");
+        System.out.println("   Top " + selectedCount + " routes selected based on preferences");
         
         return results;
     }
     
+    /**
+     * Run the strategies concurrently and merge their routes as they complete.
+     * Strategies still running when the deadline expires are interrupted and skipped; their
+     * search loops check for interruption, so the shared pool threads are released promptly.
+     * Merged routes and each strategy's RouteLog lines keep the portfolio order, so duplicate
+     * removal stays deterministic and the log reads the same on every run.
+     */
+    private List<Route> runStrategies(List<String> names, List<Callable<List<Route>>> strategies, long timeoutMillis) {
+        CompletionService<List<Route>> completionService = new ExecutorCompletionService<>(STRATEGY_EXECUTOR);
+        Map<Future<List<Route>>, Integer> pending = new HashMap<>();
+        StringBuilder[] logs = new StringBuilder[strategies.size()];
+        for (int i = 0; i < strategies.size(); i++) {
+            System.out.println((i + 1) + ". Applying " + names.get(i) + "...");
+            Callable<List<Route>> strategy = strategies.get(i);
+            StringBuilder log = logs[i] = new StringBuilder();
+            pending.put(completionService.submit(() -> {
+                RouteLog.collectInto(log);
+                campusLock.readLock().lock();
+                try {
+                    return strategy.call();
+                } finally {
+                    campusLock.readLock().unlock();
+                    RouteLog.stopCollecting();
+                }
+            }), i);
+        }
+        
+        List<List<Route>> merged = new ArrayList<>(Collections.nCopies(strategies.size(), null));
+        String[] failures = new String[strategies.size()];
+        boolean[] finished = new boolean[strategies.size()];
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        
+        try {
+            while (!pending.isEmpty()) {
+                long remaining = deadline - System.nanoTime();
+                Future<List<Route>> future = remaining > 0 
+                    ? completionService.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (future == null) {
+                    break;
+                }
+                
+                int index = pending.remove(future);
+                finished[index] = true;
+                try {
+                    merged.set(index, future.get());
+                } catch (ExecutionException e) {
+                    failures[index] = String.valueOf(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        // Interrupt whatever missed the deadline
+        for (Future<List<Route>> future : pending.keySet()) {
+            future.cancel(true);
+        }
+        
+        // Report on this thread in portfolio order, whatever order the strategies finished in
+        for (int i = 0; i < strategies.size(); i++) {
+            if (!finished[i]) {
+                System.out.println("   ⏱ " + names.get(i) + " cancelled after " + timeoutMillis + " ms");
+                continue;
+            }
+            System.out.print(logs[i]);
+            if (failures[i] != null) {
+                System.err.println("   ✗ " + names.get(i) + " failed: " + failures[i]);
+                continue;
+            }
+            for (Route route : merged.get(i)) {
+                System.out.println("   ✓ " + names.get(i) + " path found: " + route.distance + " km");
+            }
+        }
+        
+        List<Route> allRoutes = new ArrayList<>();
+        for (List<Route> routes : merged) {
+            if (routes != null) {
+                allRoutes.addAll(routes);
+            }
+        }
+        return allRoutes;
+    }
+    
+    /**
+     * Wrap a single strategy result, tagging it with the algorithm that produced it
+     */
+    private static List<Route> singleRoute(Route route, String algorithmUsed) {
+        if (route == null) {
+            return Collections.emptyList();
+        }
+        route.algorithmUsed = algorithmUsed;
+        return Collections.singletonList(route);
+    }
+    
     /**
      * Generate route using Greedy Algorithm approach
      */
@@ -154,6 +299,9 @@ public class UGRouteNavigator {
         visited.add(currentLocation);
         
         while (!currentLocation.equals(endLocation)) {
+            if (Thread.currentThread().isInterrupted()) {
+                return null; // query deadline passed
+            }
             String nextLocation = findGreedyNextLocation(currentLocation, endLocation, visited);
             
             if (nextLocation == null || nextLocation.equals(currentLocation)) {
@@ -247,6 +395,9 @@ public class UGRouteNavigator {
     private Route generateDPRouteRecursive(String currentLocation, String endLocation, 
                                          Map<String, Route> memo, Set<String> visited) {
         
+        if (Thread.currentThread().isInterrupted()) {
+            return null; // query deadline passed
+        }
         String key = currentLocation + "->" + endLocation;
         if (memo.containsKey(key)) {
             return memo.get(key);
@@ -277,6 +428,9 @@ public class UGRouteNavigator {
             String[] currentRow = adjacencyMatrix.get(currentIndex);
             
             for (int i = 0; i < Math.min(locations.length, 20); i++) { // Limit search space
+                if (Thread.currentThread().isInterrupted()) {
+                    return null;
+                }
                 String intermediate = locations[i];
                 
                 if (!visited.contains(intermediate) && !intermediate.equals(endLocation)) {
@@ -343,21 +497,16 @@ public class UGRouteNavigator {
     }
     
     /**
-     * Sort routes based on user preferences
+     * Sort keys for the preferred criterion; distance then time when none is given
      */
-    private void sortRoutesByPreferences(List<Route> routes, RoutePreferences preferences) {
+    private RouteSorter.SortKey[] preferenceKeys(RoutePreferences preferences) {
         switch (preferences.sortCriteria.toLowerCase()) {
             case "distance":
-                RouteSorter.sortRoutes(routes.toArray(new Route[0]), "distance", true);
-                break;
             case "time":
-                RouteSorter.sortRoutes(routes.toArray(new Route[0]), "time", true);
-                break;
             case "efficiency":
-                RouteSorter.sortRoutes(routes.toArray(new Route[0]), "efficiency", true);
-                break;
+                return new RouteSorter.SortKey[]{RouteSorter.SortKey.fromName(preferences.sortCriteria)};
             default:
-                RouteSorter.sortByMultipleCriteria(routes.toArray(new Route[0]));
+                return new RouteSorter.SortKey[]{RouteSorter.SortKey.DISTANCE, RouteSorter.SortKey.TIME};
         }
     }
     
@@ -395,12 +544,131 @@ public class UGRouteNavigator {
      * Get location index in the adjacency matrix
      */
     private int getLocationIndex(String location) {
-        for (int i = 0; i < locations.length; i++) {
-            if (locations[i].contains(location)) {
-                return i;
+        return LocationSearchEngine.resolve(locations, location);
+    }
+    
+    /**
+     * Get the full shortest route from the precomputed next-hop matrix
+     * @return Route through every intermediate location, or null if none exists
+     */
+    public Route getShortestRoute(String startLocation, String endLocation) {
+        return readLocked(() -> {
+            ShortestPathTable table = allPairsTable;
+            return table != null ? table.getRoute(startLocation, endLocation) : searchShortestRoute(startLocation, endLocation);
+        });
+    }
+    
+    /**
+     * One Dijkstra tree from the start, for when the all-pairs table has not been built
+     */
+    private Route searchShortestRoute(String startLocation, String endLocation) {
+        int[] endpoints = FloydWarshallAlgorithm.findLocationIndices(locations, startLocation, endLocation);
+        if (endpoints == null || campusGraph == null || endpoints[0] == endpoints[1]) {
+            return null;
+        }
+        int n = campusGraph.size();
+        double[] distances = new double[n];
+        int[] parent = new int[n];
+        GraphSearch.shortestPathTree(campusGraph, endpoints[0], distances, parent, new IndexedMinHeap(n));
+        if (parent[endpoints[1]] == -1) {
+            return null;
+        }
+        
+        int length = 1;
+        for (int v = endpoints[1]; v != endpoints[0]; v = parent[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        double[] segments = new double[length - 1];
+        for (int i = length - 1, v = endpoints[1]; i >= 0; i--, v = parent[v]) {
+            path[i] = v;
+        }
+        for (int i = 1; i < length; i++) {
+            segments[i - 1] = campusGraph.getEdgeWeight(path[i - 1], path[i]);
+        }
+        return ReadCSV.buildPathRoute(locations, path, segments);
+    }
+    
+    /**
+     * Run a query while no walkway update can rewrite the shared matrix, graph or tables
+     */
+    private <T> T readLocked(Supplier<T> query) {
+        campusLock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            campusLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Change the walking distance between two locations in both directions,
+     * e.g. when a walkway closes (distance 0) or a new shortcut opens.
+     * Precomputed shortest paths are updated incrementally while queries are held off.
+     * @return true if both locations were found
+     */
+    public boolean updateWalkway(String from, String to, double distanceKm) {
+        if (campusGraph == null) {
+            return false;
+        }
+        campusLock.writeLock().lock();
+        try {
+            int fromIndex = getLocationIndex(from);
+            int toIndex = getLocationIndex(to);
+            // Index 0 is the "Address" header column, and row 0 holds the location names
+            if (fromIndex <= 0 || toIndex <= 0 || fromIndex == toIndex) {
+                return false;
+            }
+            
+            String cell = distanceKm > 0 ? String.valueOf(distanceKm) : "0";
+            adjacencyMatrix.get(fromIndex)[toIndex] = cell;
+            adjacencyMatrix.get(toIndex)[fromIndex] = cell;
+            campusGraph.setEdgeWeight(fromIndex, toIndex, distanceKm);
+            campusGraph.setEdgeWeight(toIndex, fromIndex, distanceKm);
+            rangeIndex.invalidate();
+            return true;
+        } finally {
+            campusLock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Route that stops at one location of each landmark category on the way, e.g. ATM then dining
+     * @param stops Landmark categories to visit
+     * @param fixedOrder true to keep the given order, false to find the best order
+     * @return Best errand route, or null if some stop cannot be visited
+     */
+    public Route findErrandRoute(String startLocation, String endLocation, List<String> stops, boolean fixedOrder) {
+        return readLocked(() -> ErrandRouter.findErrandRoute(campusGraph, startLocation, endLocation, stops, fixedOrder));
+    }
+    
+    /**
+     * Closest landmarks of a type from a location, e.g. the three nearest banks with distances
+     * @return Suggestions nearest first; empty if the location or type is unknown
+     */
+    public List<String> suggestNearestLandmarks(String location, String landmarkType) {
+        return readLocked(() -> {
+            int index = getLocationIndex(location);
+            NearestFacilityTable table = getNearestFacilities();
+            if (index == -1 || table == null) {
+                return new ArrayList<String>();
             }
+            return Arrays.asList(table.getSuggestions(index, landmarkType));
+        });
+    }
+    
+    /**
+     * k-nearest facility table for the current graph version, rebuilt after walkway changes
+     */
+    private synchronized NearestFacilityTable getNearestFacilities() {
+        if (campusGraph == null) {
+            return null;
         }
-        return -1;
+        if (nearestFacilities == null || nearestFacilities.getGraphVersion() != campusGraph.getVersion()) {
+            nearestFacilities = new NearestFacilityTable(campusGraph, 
+                LandmarkCategoryIndex.forLocations(locations), NearestFacilityTable.DEFAULT_K);
+        }
+        return nearestFacilities;
     }
     
     /**
@@ -414,7 +682,53 @@ public class UGRouteNavigator {
      * Find nearby landmarks from a location
      */
     public List<String> findNearbyLandmarks(String location, String landmarkType, double maxDistance) {
-        return LandmarkSearch.findNearbyLandmarks(adjacencyMatrix, location, maxDistance, landmarkType);
+        return readLocked(() -> rangeIndex != null
+            ? LandmarkSearch.findNearbyLandmarks(rangeIndex, locations, location, maxDistance, landmarkType)
+            : LandmarkSearch.findNearbyLandmarks(adjacencyMatrix, location, maxDistance, landmarkType));
+    }
+    
+    /**
+     * All locations within walking distance of a location, nearest first
+     */
+    public List<String> findLocationsWithinDistance(String location, double maxDistance) {
+        return readLocked(() -> FloydWarshallAlgorithm.findLocationsWithinDistance(rangeIndex, locations, location, maxDistance));
+    }
+    
+    /**
+     * Locations that can be passed between two locations for at most maxDetour extra km, smallest detour first
+     */
+    public List<String> findLocationsOnTheWay(String startLocation, String endLocation, double maxDetour) {
+        return readLocked(() -> LandmarkSearch.findLocationsOnTheWay(campusGraph, startLocation, endLocation, maxDetour));
+    }
+    
+    /**
+     * Assign students leaving halls to venue seats with the least total walking
+     * @param hallSupply Students leaving each hall
+     * @param venueSeats Seats at each lecture venue
+     * @param useVogel true to start from Vogel's approximation, false from the Northwest Corner rule
+     * @return Optimal flows with their routes, or null if a location is unknown
+     */
+    public StudentFlowPlanner.FlowPlan planStudentFlows(Map<String, Integer> hallSupply, Map<String, Integer> venueSeats,
+                                                        boolean useVogel) {
+        StudentFlowPlanner.InitialMethod method = useVogel 
+            ? StudentFlowPlanner.InitialMethod.VOGEL : StudentFlowPlanner.InitialMethod.NORTHWEST_CORNER;
+        return readLocked(() -> {
+            ShortestPathTable table = getAllPairsTable();
+            return table != null ? StudentFlowPlanner.plan(table, hallSupply, venueSeats, method) : null;
+        });
+    }
+    
+    /**
+     * Move students from halls to venues without any walkway carrying more than walkwayCapacity
+     * students in one direction, at the least total walking distance
+     * @return Flows with their routes and walkway loads, or null if a location is unknown
+     */
+    public MinCostFlow.Result planCongestionAwareFlows(Map<String, Integer> hallSupply, Map<String, Integer> venueSeats,
+                                                       int walkwayCapacity) {
+        if (campusGraph == null) {
+            return null;
+        }
+        return readLocked(() -> new MinCostFlow(campusGraph, walkwayCapacity).solve(hallSupply, venueSeats));
     }
     
     /**
@@ -457,6 +771,7 @@ public class UGRouteNavigator {
         public String landmark = null;
         public double maxDetourDistance = 1.0;
         public boolean useOptimizationMethods = true;
+        public long queryTimeoutMillis = 5000; // per-query deadline for the whole algorithm portfolio
         
         public RoutePreferences() {}
         